@@ -0,0 +1,84 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Affine transform, x -> scale * x + offset, for example a unit conversion.
+ *
+ * Visible domain: all values.
+ */
+public final class AffineAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = -5090411838623478710L;
+
+    private final double scale;
+    private final double offset;
+
+    /**
+     * @param scale  multiplier applied to data values; must be finite and non-zero
+     * @param offset value added after scaling; must be finite
+     * @throws IllegalArgumentException if {@code scale} is zero or either argument is not finite
+     */
+    public AffineAxisTransform(final double scale, final double offset) {
+        if (scale == 0 || Double.isNaN(scale) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("Scale must be finite and non-zero: " + scale);
+        }
+        if (Double.isNaN(offset) || Double.isInfinite(offset)) {
+            throw new IllegalArgumentException("Offset must be finite: " + offset);
+        }
+
+        this.scale = scale;
+        this.offset = offset;
+    }
+
+    /**
+     * @return multiplier applied to data values
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * @return value added after scaling
+     */
+    public double getOffset() {
+        return offset;
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        return scale * dataValue + offset;
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return (axisValue - offset) / scale;
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return true;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.multiplyAdd(src, srcPos, dst, dstPos, length, scale, offset);
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.subtractDivide(src, srcPos, dst, dstPos, length, offset, scale);
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        Arrays.fill(dst, dstPos, dstPos + length, true);
+        return length;
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+    }
+}
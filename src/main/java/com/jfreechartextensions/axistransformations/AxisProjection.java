@@ -0,0 +1,111 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.ui.RectangleEdge;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Immutable mapping between Axis space and Java2D space for one axis layout.
+ *
+ * The pixel bounds and scale are computed once per {@link AxisSnapshot} and plot area,
+ * so projecting a point is a single multiply-add instead of two extra transform evaluations.
+ */
+final class AxisProjection {
+
+    private final double areaX;
+    private final double areaY;
+    private final double areaWidth;
+    private final double areaHeight;
+    private final RectangleEdge edge;
+    private final BasicAxisTransform transform;
+
+    private final double transformedMin;
+    private final double origin;
+    private final double scale;
+    private final double inverseScale;
+
+    /**
+     * @param area           the area for plotting the data.
+     * @param edge           the axis location.
+     * @param transform      the axis transform.
+     * @param inverted       whether the axis is inverted.
+     * @param transformedMin the lower bound of the range in Axis space
+     * @param transformedMax the upper bound of the range in Axis space
+     */
+    AxisProjection(final Rectangle2D area, final RectangleEdge edge, final BasicAxisTransform transform, final boolean inverted,
+                   final double transformedMin, final double transformedMax) {
+        this.areaX = area.getX();
+        this.areaY = area.getY();
+        this.areaWidth = area.getWidth();
+        this.areaHeight = area.getHeight();
+        this.edge = edge;
+        this.transform = transform;
+        this.transformedMin = transformedMin;
+
+        double min = 0.0D;
+        double max = 0.0D;
+        if (RectangleEdge.isTopOrBottom(edge)) {
+            min = area.getX();
+            max = area.getMaxX();
+        } else if (RectangleEdge.isLeftOrRight(edge)) {
+            max = area.getMinY();
+            min = area.getMaxY();
+        }
+
+        this.origin = inverted ? max : min;
+        this.scale = (inverted ? min - max : max - min) / (transformedMax - transformedMin);
+        this.inverseScale = 1.0D / scale;
+    }
+
+    /**
+     * Gets whether this projection was built for the given plot area.
+     *
+     * @param area the area for plotting the data.
+     * @param edge the axis location.
+     * @return whether this projection can be reused for the layout
+     */
+    boolean isFor(final Rectangle2D area, final RectangleEdge edge) {
+        return this.edge == edge
+                && this.areaX == area.getX()
+                && this.areaY == area.getY()
+                && this.areaWidth == area.getWidth()
+                && this.areaHeight == area.getHeight();
+    }
+
+    BasicAxisTransform getTransform() {
+        return transform;
+    }
+
+    /**
+     * Converts a value in Axis space to a coordinate in Java2D space.
+     *
+     * @param transformedValue value in Axis space
+     * @return the Java2D coordinate
+     */
+    double toJava2D(final double transformedValue) {
+        return origin + (transformedValue - transformedMin) * scale;
+    }
+
+    /**
+     * Converts values in Axis space to coordinates in Java2D space in place.
+     *
+     * @param values     values in Axis space
+     * @param pos        index of the first value in {@code values}
+     * @param length     number of values to convert
+     * @param visible    whether each value is visible; invisible values are converted to NaN
+     * @param visiblePos index of the visibility of the first value in {@code visible}
+     */
+    void toJava2D(final double[] values, final int pos, final int length, final boolean[] visible, final int visiblePos) {
+        BulkKernels.project(values, pos, length, visible, visiblePos, transformedMin, scale, origin);
+    }
+
+    /**
+     * Converts a coordinate in Java2D space to a value in Axis space.
+     *
+     * @param java2DValue Java2D coordinate
+     * @return the value in Axis space
+     */
+    double toAxisSpace(final double java2DValue) {
+        return transformedMin + (java2DValue - origin) * inverseScale;
+    }
+}
@@ -0,0 +1,223 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.data.Range;
+import org.jfree.ui.RectangleEdge;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * Immutable view of the configuration of an {@link ExtendedNumberAxis} that drawing depends on: the effective range,
+ * the transform, the inversion and the custom major ticks.
+ *
+ * The axis replaces its snapshot when its configuration changes and draws from it, so drawing never changes the axis
+ * and the same axis can be drawn into several images at once. A transform which reverses the range inverts the
+ * snapshot, rather than the axis being switched to inverted while it is drawn. Callers which convert many values,
+ * such as exports, can take a snapshot once with {@link ExtendedNumberAxis#snapshot()} and get consistent results
+ * even if the axis is reconfigured meanwhile.
+ *
+ * The transform is shared with the axis, not copied. A {@link SampledAxisTransform} is not resampled: each plot area
+ * gets its own copy sampled for it with {@link SampledAxisTransform#sampledFor(double, double, double)}.
+ */
+public final class AxisSnapshot {
+
+    /**
+     * Plots draw an axis into a few areas at most, for example a chart and its thumbnail, so a few projections are kept.
+     */
+    private static final int PROJECTION_CACHE_SIZE = 4;
+
+    private final Range range;
+    private final BasicAxisTransform transform;
+    private final boolean configuredInverted;
+    private final boolean inverted;
+    private final double[] majorTicks;
+    private final double transformedMin;
+    private final double transformedMax;
+    /**
+     * Projections for the last few plot areas, most recent first; immutable and replaced whole, so a racing thread at
+     * worst builds one again.
+     */
+    private volatile AxisProjection[] projections = new AxisProjection[0];
+
+    /**
+     * @param range              effective axis range
+     * @param transform          axis transform
+     * @param configuredInverted whether the axis is set to inverted
+     * @param majorTicks         sorted custom major ticks, or null; not copied, so must not be modified
+     */
+    AxisSnapshot(final Range range, final BasicAxisTransform transform, final boolean configuredInverted, final double[] majorTicks) {
+        this.range = range;
+        this.transform = transform;
+        this.configuredInverted = configuredInverted;
+        this.majorTicks = majorTicks;
+        this.transformedMin = transform.transform(range.getLowerBound());
+        this.transformedMax = transform.transform(range.getUpperBound());
+        this.inverted = configuredInverted || transformedMin > transformedMax;
+    }
+
+    /**
+     * Gets whether this snapshot is still current for an axis configuration.
+     */
+    boolean isFor(final Range range, final BasicAxisTransform transform, final boolean configuredInverted, final double[] majorTicks) {
+        return this.transform == transform
+                && this.configuredInverted == configuredInverted
+                && this.majorTicks == majorTicks
+                && this.range.getLowerBound() == range.getLowerBound()
+                && this.range.getUpperBound() == range.getUpperBound();
+    }
+
+    /**
+     * @return the effective axis range
+     */
+    public Range getRange() {
+        return range;
+    }
+
+    /**
+     * @return the axis transform
+     */
+    public BasicAxisTransform getTransform() {
+        return transform;
+    }
+
+    /**
+     * @return whether the axis is drawn inverted: set to inverted, or with a transform which reverses the range
+     */
+    public boolean isInverted() {
+        return inverted;
+    }
+
+    /**
+     * @return a copy of the custom major tick locations, sorted and without duplicates, or null if ticks are generated from the tick unit
+     */
+    public double[] getMajorTicks() {
+        return majorTicks == null ? null : majorTicks.clone();
+    }
+
+    /**
+     * @return the custom major tick locations without copying them, or null
+     */
+    double[] majorTicks() {
+        return majorTicks;
+    }
+
+    /**
+     * Gets the parts of the range where data can be visible: the visible intervals of the transform, clipped to the range.
+     *
+     * @return {@code {lower0, upper0, lower1, upper1, ...}} as in {@link BasicAxisTransform#getVisibleIntervals()},
+     * empty if nothing in the range is visible, or null if the transform doesn't publish its visible domain
+     */
+    public double[] getVisibleIntervals() {
+        final double[] intervals = transform.getVisibleIntervals();
+        if (intervals == null) {
+            return null;
+        }
+
+        final double lower = range.getLowerBound();
+        final double upper = range.getUpperBound();
+        int count = 0;
+        for (int i = 0; i < intervals.length; i += 2) {
+            final double a = Math.max(intervals[i], lower);
+            final double b = Math.min(intervals[i + 1], upper);
+            if (a <= b) {
+                intervals[count++] = a;
+                intervals[count++] = b;
+            }
+        }
+        return count == intervals.length ? intervals : Arrays.copyOf(intervals, count);
+    }
+
+    /**
+     * Converts a data value to a coordinate in Java2D space.
+     *
+     * @param value the data value
+     * @param area  the area for plotting the data
+     * @param edge  the axis location
+     * @return the Java2D coordinate, or NaN if the value is not visible
+     * @see ExtendedNumberAxis#valueToJava2D(double, Rectangle2D, RectangleEdge)
+     */
+    public double valueToJava2D(final double value, final Rectangle2D area, final RectangleEdge edge) {
+        if (!transform.isVisible(value)) {
+            return Double.NaN;
+        }
+        final AxisProjection projection = getProjection(area, edge);
+        return projection.toJava2D(projection.getTransform().transform(value));
+    }
+
+    /**
+     * Converts data values to coordinates in Java2D space, as {@link ExtendedNumberAxis#valuesToJava2D}.
+     *
+     * @param values       the data values
+     * @param valuesPos    index of the first data value in {@code values}
+     * @param java2DValues destination for the Java2D coordinates; may be the same array as {@code values}
+     * @param java2DPos    index of the first coordinate in {@code java2DValues}
+     * @param length       number of values to convert
+     * @param area         the area for plotting the data
+     * @param edge         the axis location
+     */
+    public void valuesToJava2D(final double[] values, final int valuesPos, final double[] java2DValues, final int java2DPos, final int length,
+                               final Rectangle2D area, final RectangleEdge edge) {
+        final AxisProjection projection = getProjection(area, edge);
+        final BasicAxisTransform areaTransform = projection.getTransform();
+        final boolean[] visible = new boolean[Math.min(length, ExtendedNumberAxis.BULK_CHUNK_SIZE)];
+
+        for (int offset = 0; offset < length; offset += ExtendedNumberAxis.BULK_CHUNK_SIZE) {
+            final int n = Math.min(ExtendedNumberAxis.BULK_CHUNK_SIZE, length - offset);
+            final int src = valuesPos + offset;
+            final int dst = java2DPos + offset;
+            //visibility has to be read before the transform overwrites the values when the arrays are the same
+            areaTransform.isVisible(values, src, visible, 0, n);
+            areaTransform.transform(values, src, java2DValues, dst, n);
+            projection.toJava2D(java2DValues, dst, n, visible, 0);
+        }
+    }
+
+    /**
+     * Converts a coordinate in Java2D space to a data value.
+     *
+     * @param java2DValue the Java2D coordinate
+     * @param area        the area for plotting the data
+     * @param edge        the axis location
+     * @return the data value
+     */
+    public double java2DToValue(final double java2DValue, final Rectangle2D area, final RectangleEdge edge) {
+        final AxisProjection projection = getProjection(area, edge);
+        return projection.getTransform().inverseTransform(projection.toAxisSpace(java2DValue));
+    }
+
+    /**
+     * Gets the projection between Axis space and Java2D space for a plot area, building it only for areas which are
+     * not among the last few. Values must be transformed with the transform of the projection, which for a
+     * {@link SampledAxisTransform} is a copy sampled for the area.
+     *
+     * @param area the area for plotting the data.
+     * @param edge the axis location.
+     * @return the projection for this layout
+     */
+    AxisProjection getProjection(final Rectangle2D area, final RectangleEdge edge) {
+        final AxisProjection[] current = this.projections;
+        for (final AxisProjection projection : current) {
+            if (projection.isFor(area, edge)) {
+                return projection;
+            }
+        }
+
+        BasicAxisTransform areaTransform = transform;
+        double min = transformedMin;
+        double max = transformedMax;
+        if (transform instanceof SampledAxisTransform) {
+            //sampling for this axis length moves the transformed bounds by at most the sampling error
+            final double pixels = RectangleEdge.isTopOrBottom(edge) ? area.getWidth() : area.getHeight();
+            areaTransform = ((SampledAxisTransform) transform).sampledFor(range.getLowerBound(), range.getUpperBound(), pixels);
+            min = areaTransform.transform(range.getLowerBound());
+            max = areaTransform.transform(range.getUpperBound());
+        }
+        final AxisProjection result = new AxisProjection(area, edge, areaTransform, inverted, min, max);
+
+        final AxisProjection[] update = new AxisProjection[Math.min(current.length + 1, PROJECTION_CACHE_SIZE)];
+        update[0] = result;
+        System.arraycopy(current, 0, update, 1, update.length - 1);
+        this.projections = update;
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds transforms out of other transforms.
+ *
+ * Composed transforms are fused into one object: nested compositions are flattened, adjacent
+ * {@link AffineAxisTransform}s are multiplied out, and the visible domains of the stages are
+ * mapped back to dataset space and intersected once. When every stage has a known interval domain,
+ * checking visibility is a pair of comparisons instead of a pass through every stage.
+ * NaN is never visible in a composed transform.
+ */
+public final class AxisTransforms {
+
+    private AxisTransforms() {
+    }
+
+    /**
+     * Composes transforms. For example, {@code compose(new Log10AxisTransform(), new AffineAxisTransform(2, 1))}
+     * transforms x to 2 * log10(x) + 1. A value is visible if each stage shows the value the previous stages produce.
+     * Every stage must be monotonic.
+     *
+     * @param stages transforms, in the order they are applied to dataset values
+     * @return the composed transform
+     * @throws IllegalArgumentException if a stage is null
+     */
+    public static BasicAxisTransform compose(final BasicAxisTransform... stages) {
+        final Builder builder = new Builder();
+        for (final BasicAxisTransform stage : stages) {
+            if (stage == null) {
+                throw new IllegalArgumentException("Transform stages must not be null");
+            }
+            builder.add(stage);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Restricts a transform to a closed range of dataset values; values outside it are not visible.
+     *
+     * @param transform the transform
+     * @param lower     smallest visible value
+     * @param upper     largest visible value
+     * @return the restricted transform
+     * @throws IllegalArgumentException if {@code transform} is null or {@code lower} is greater than {@code upper}
+     */
+    public static BasicAxisTransform restrict(final BasicAxisTransform transform, final double lower, final double upper) {
+        if (transform == null) {
+            throw new IllegalArgumentException("Transform must not be null");
+        }
+        if (!(lower <= upper)) {
+            throw new IllegalArgumentException("Lower bound must not be greater than upper bound: [" + lower + ", " + upper + "]");
+        }
+
+        final Builder builder = new Builder();
+        builder.restrict(new VisibleDomain(lower, true, upper, true));
+        builder.restricted = true;
+        builder.add(transform);
+        return builder.build();
+    }
+
+    /**
+     * Accumulates fused stages and the visible domain in dataset space.
+     */
+    private static final class Builder {
+        private final List<BasicAxisTransform> stages = new ArrayList<>();
+        private VisibleDomain domain = VisibleDomain.ALL;
+        private boolean exact = true;
+        /**
+         * Whether the domain may be narrower than that of the stages, so a single stage can't stand for the result.
+         */
+        private boolean restricted;
+
+        private void add(final BasicAxisTransform stage) {
+            if (stage instanceof CompositeAxisTransform) {
+                final CompositeAxisTransform composite = (CompositeAxisTransform) stage;
+                restrict(composite.getDomain());
+                restricted = true;
+                exact &= composite.isExact();
+                for (final BasicAxisTransform s : composite.getStages()) {
+                    append(s);
+                }
+                return;
+            }
+
+            final VisibleDomain stageDomain = VisibleDomain.of(stage);
+            if (stageDomain == null) {
+                exact = false;
+            } else {
+                restrict(stageDomain);
+            }
+            append(stage);
+        }
+
+        /**
+         * Restricts the domain to the values which the stages so far map into {@code d}.
+         */
+        private void restrict(final VisibleDomain d) {
+            VisibleDomain pulledBack = d;
+            for (int i = stages.size() - 1; i >= 0 && pulledBack != null; --i) {
+                pulledBack = pulledBack.pullBack(stages.get(i));
+            }
+
+            if (pulledBack == null) {
+                exact = false;
+            } else {
+                domain = domain.intersect(pulledBack);
+            }
+        }
+
+        private void append(final BasicAxisTransform stage) {
+            final int last = stages.size() - 1;
+            if (stage instanceof AffineAxisTransform && last >= 0 && stages.get(last) instanceof AffineAxisTransform) {
+                final AffineAxisTransform first = (AffineAxisTransform) stages.remove(last);
+                final AffineAxisTransform second = (AffineAxisTransform) stage;
+                final double scale = second.getScale() * first.getScale();
+                final double offset = second.getScale() * first.getOffset() + second.getOffset();
+                if (scale != 1.0D || offset != 0.0D) {
+                    stages.add(new AffineAxisTransform(scale, offset));
+                }
+            } else {
+                stages.add(stage);
+            }
+        }
+
+        private BasicAxisTransform build() {
+            if (stages.isEmpty()) {
+                return restricted ? new CompositeAxisTransform(new BasicAxisTransform[]{new AffineAxisTransform(1.0D, 0.0D)}, domain, exact)
+                        : new AffineAxisTransform(1.0D, 0.0D);
+            }
+            if (stages.size() == 1 && !restricted && !(stages.get(0) instanceof CompositeAxisTransform)) {
+                return stages.get(0);
+            }
+            return new CompositeAxisTransform(stages.toArray(new BasicAxisTransform[0]), domain, exact);
+        }
+    }
+}
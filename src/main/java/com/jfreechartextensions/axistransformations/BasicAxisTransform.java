@@ -8,6 +8,11 @@ package com.jfreechartextensions.axistransformations;
  * a dataset value of 1 maps to 1 in Axis space; a dataset
  * value of 4 maps to 2. In the plot these values will be displayed
  * close together.
+ *
+ * Common transforms are provided as final classes: {@link Log10AxisTransform}, {@link LogAxisTransform},
+ * {@link PowerAxisTransform}, {@link SymmetricLogAxisTransform}, {@link ReciprocalAxisTransform} and
+ * {@link AffineAxisTransform}. Prefer them to lambdas or anonymous classes: an axis calls its transform for
+ * every tick and data point, and a small set of final receiver types lets the JIT inline those calls.
  */
 public interface BasicAxisTransform {
 
@@ -35,4 +40,75 @@ public interface BasicAxisTransform {
      */
     boolean isVisible(double dataValue);
 
+    /**
+     * Transforms {@code length} data points to Axis space, reading from {@code src} starting at {@code srcPos}
+     * and writing to {@code dst} starting at {@code dstPos}. {@code src} and {@code dst} may be the same array.
+     *
+     * Implementations with a cheap per-point transform should override this with a tight primitive loop,
+     * since axes project whole series through it.
+     *
+     * @param src    data points
+     * @param srcPos index of the first data point in {@code src}
+     * @param dst    destination for the corresponding values in Axis space
+     * @param dstPos index of the first result in {@code dst}
+     * @param length number of data points to transform
+     */
+    default void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = transform(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * Transforms {@code length} points in Axis space to dataset space, reading from {@code src} starting at {@code srcPos}
+     * and writing to {@code dst} starting at {@code dstPos}. {@code src} and {@code dst} may be the same array.
+     *
+     * @param src    Axis space data points
+     * @param srcPos index of the first point in {@code src}
+     * @param dst    destination for the corresponding values in dataset space
+     * @param dstPos index of the first result in {@code dst}
+     * @param length number of points to transform
+     */
+    default void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = inverseTransform(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * Gets whether {@code length} data points are visible in the plot, reading from {@code src} starting at {@code srcPos}
+     * and writing to {@code dst} starting at {@code dstPos}.
+     *
+     * @param src    data points
+     * @param srcPos index of the first data point in {@code src}
+     * @param dst    destination for the visibility of each data point
+     * @param dstPos index of the first result in {@code dst}
+     * @param length number of data points to check
+     * @return number of visible data points
+     */
+    default int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        int nVisible = 0;
+        for (int i = 0; i < length; ++i) {
+            final boolean visible = isVisible(src[srcPos + i]);
+            dst[dstPos + i] = visible;
+            nVisible += visible ? 1 : 0;
+        }
+        return nVisible;
+    }
+
+    /**
+     * Gets the visible domain as a list of intervals, so that axes and renderers can skip invisible stretches of
+     * sorted data with a binary search instead of checking every point.
+     *
+     * The result is {@code {lower0, upper0, lower1, upper1, ...}}: closed intervals, sorted and not overlapping,
+     * whose ends may be infinite. Every visible data point lies in one of them, but not every value in them has to be
+     * visible, for example the ends of open intervals; {@link #isVisible(double)} stays authoritative for the points
+     * which are not skipped.
+     *
+     * @return a new array of interval ends, or null if the visible domain is not known
+     */
+    default double[] getVisibleIntervals() {
+        return null;
+    }
+
 }
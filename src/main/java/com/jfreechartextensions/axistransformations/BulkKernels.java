@@ -0,0 +1,136 @@
+package com.jfreechartextensions.axistransformations;
+
+/**
+ * Array loops shared by the bulk transform methods and the axis projection.
+ *
+ * This is the scalar implementation. The jar also carries a Java 17 version of this class under
+ * {@code META-INF/versions/17}, which uses the Vector API when {@code jdk.incubator.vector} is
+ * resolved (for example with {@code --add-modules jdk.incubator.vector}) and these loops otherwise.
+ * Both versions must keep the same methods and results, apart from the last bit of the
+ * transcendental functions.
+ */
+final class BulkKernels {
+
+    private BulkKernels() {
+    }
+
+    /**
+     * @return whether the loops are vectorized
+     */
+    static boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * dst = src * a + b
+     */
+    static void multiplyAdd(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double a, final double b) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = src[srcPos + i] * a + b;
+        }
+    }
+
+    /**
+     * dst = (src - c) / d
+     */
+    static void subtractDivide(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double c, final double d) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = (src[srcPos + i] - c) / d;
+        }
+    }
+
+    /**
+     * dst = log10(src)
+     */
+    static void log10(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = Math.log10(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = ln(src)
+     */
+    static void log(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = Math.log(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = e^src
+     */
+    static void exp(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = Math.exp(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = base^src
+     */
+    static void powBase(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double base) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = Math.pow(base, src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = src^exponent for non-negative src, NaN for negative src
+     */
+    static void powNonNegative(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double exponent) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = powNonNegative(src[srcPos + i], exponent);
+        }
+    }
+
+    /**
+     * Raises a value to a power, using the cheaper exact operations for squares and square roots.
+     *
+     * @return {@code value^exponent}, or NaN if {@code value} is negative
+     */
+    static double powNonNegative(final double value, final double exponent) {
+        if (value < 0) {
+            return Double.NaN;
+        }
+        if (exponent == 0.5D) {
+            return Math.sqrt(value);
+        }
+        if (exponent == 2.0D) {
+            return value * value;
+        }
+        if (exponent == 1.0D) {
+            return value;
+        }
+        return Math.pow(value, exponent);
+    }
+
+    /**
+     * dst = whether src lies between lower and upper; the upper end is included, the lower end only if {@code lowerClosed}.
+     * NaN lies in no interval. Transforms whose visible domain is an interval check visibility with this.
+     *
+     * @return number of values in the interval
+     */
+    static int inInterval(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length,
+                          final double lower, final boolean lowerClosed, final double upper) {
+        int count = 0;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            final boolean inside = (lowerClosed ? value >= lower : value > lower) && value <= upper;
+            dst[dstPos + i] = inside;
+            count += inside ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Projects values in Axis space to Java2D space in place, as {@link AxisProjection#toJava2D(double)} does:
+     * values = origin + (values - transformedMin) * scale, or NaN where the value is not visible.
+     */
+    static void project(final double[] values, final int pos, final int length, final boolean[] visible, final int visiblePos,
+                        final double transformedMin, final double scale, final double origin) {
+        for (int i = 0; i < length; ++i) {
+            values[pos + i] = visible[visiblePos + i] ? origin + (values[pos + i] - transformedMin) * scale : Double.NaN;
+        }
+    }
+}
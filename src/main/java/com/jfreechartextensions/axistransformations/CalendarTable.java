@@ -0,0 +1,154 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed calendar boundaries for one time zone, so that calendar ticks can be generated with array lookups
+ * instead of calendar arithmetic.
+ *
+ * Times are handled as epoch milliseconds, and as local milliseconds: epoch milliseconds plus the zone offset.
+ * Local milliseconds have no daylight saving jumps, so days, hours and minutes are fixed multiples there.
+ * The offset transitions of the zone and the first day of each month are tabulated from {@link #FIRST_YEAR}
+ * to {@link #LAST_YEAR}; outside those years the zone rules and {@link LocalDate} are used directly.
+ *
+ * Tables are immutable and shared: one per zone, built on first use.
+ */
+final class CalendarTable {
+
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2100;
+    private static final int MONTHS_PER_YEAR = 12;
+    /**
+     * Epoch day of the first day of each month from January {@link #FIRST_YEAR}, plus the month after the last.
+     */
+    private static final long[] MONTH_START_DAYS = new long[(LAST_YEAR - FIRST_YEAR + 1) * MONTHS_PER_YEAR + 1];
+    private static final ConcurrentHashMap<ZoneId, CalendarTable> TABLES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < MONTH_START_DAYS.length; ++i) {
+            MONTH_START_DAYS[i] = LocalDate.of(FIRST_YEAR + i / MONTHS_PER_YEAR, 1 + i % MONTHS_PER_YEAR, 1).toEpochDay();
+        }
+    }
+
+    private final ZoneRules rules;
+    private final long windowStart;
+    private final long windowEnd;
+    /**
+     * Epoch milliseconds of the offset transitions within the window, ascending.
+     */
+    private final long[] transitions;
+    /**
+     * Offset in milliseconds after each transition; the last entry is the offset before the first transition.
+     */
+    private final int[] offsets;
+
+    private CalendarTable(final ZoneId zone) {
+        this.rules = zone.getRules();
+        this.windowStart = LocalDate.of(FIRST_YEAR, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+        this.windowEnd = LocalDate.of(LAST_YEAR + 1, 1, 1).toEpochDay() * MILLIS_PER_DAY;
+
+        long[] instants = new long[16];
+        int[] after = new int[17];
+        int n = 0;
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(windowStart));
+        while (transition != null && transition.toEpochSecond() * 1000L < windowEnd) {
+            if (n == instants.length) {
+                instants = Arrays.copyOf(instants, 2 * n);
+                after = Arrays.copyOf(after, 2 * n + 1);
+            }
+            instants[n] = transition.toEpochSecond() * 1000L;
+            after[n++] = transition.getOffsetAfter().getTotalSeconds() * 1000;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+
+        this.transitions = Arrays.copyOf(instants, n);
+        this.offsets = Arrays.copyOf(after, n + 1);
+        this.offsets[n] = rules.getOffset(Instant.ofEpochMilli(windowStart)).getTotalSeconds() * 1000;
+    }
+
+    /**
+     * @param zone time zone
+     * @return the table of {@code zone}
+     */
+    static CalendarTable forZone(final ZoneId zone) {
+        final CalendarTable table = TABLES.get(zone);
+        return table != null ? table : TABLES.computeIfAbsent(zone, CalendarTable::new);
+    }
+
+    /**
+     * @param instant epoch milliseconds
+     * @return the zone offset at {@code instant}, in milliseconds
+     */
+    long getOffset(final long instant) {
+        if (instant < windowStart || instant >= windowEnd) {
+            return rules.getOffset(Instant.ofEpochMilli(instant)).getTotalSeconds() * 1000L;
+        }
+        int index = Arrays.binarySearch(transitions, instant);
+        index = index >= 0 ? index : -index - 2;
+        return offsets[index >= 0 ? index : offsets.length - 1];
+    }
+
+    /**
+     * @param instant epoch milliseconds
+     * @return local milliseconds at {@code instant}
+     */
+    long toLocal(final long instant) {
+        return instant + getOffset(instant);
+    }
+
+    /**
+     * Converts local milliseconds to epoch milliseconds, as {@link java.time.LocalDateTime#atZone(ZoneId)} does:
+     * local times repeated when clocks go back map to their first occurrence, and local times skipped when clocks
+     * go forward are moved later by the length of the jump.
+     *
+     * @param local local milliseconds
+     * @return epoch milliseconds
+     */
+    long toInstant(final long local) {
+        //offsets a day before and after, which are the two offsets around any transition near local
+        final long approximate = local - getOffset(local);
+        final long before = getOffset(approximate - MILLIS_PER_DAY);
+        if (getOffset(local - before) == before) {
+            return local - before;
+        }
+        final long after = getOffset(approximate + MILLIS_PER_DAY);
+        if (getOffset(local - after) == after) {
+            return local - after;
+        }
+        return local - before;
+    }
+
+    /**
+     * @param monthIndex months since January of year 0, that is {@code year * 12 + month - 1}
+     * @return epoch day of the first day of the month
+     */
+    static long getMonthStartDay(final long monthIndex) {
+        final long index = monthIndex - (long) FIRST_YEAR * MONTHS_PER_YEAR;
+        if (index >= 0 && index < MONTH_START_DAYS.length) {
+            return MONTH_START_DAYS[(int) index];
+        }
+        return LocalDate.of((int) Math.floorDiv(monthIndex, MONTHS_PER_YEAR), 1 + (int) Math.floorMod(monthIndex, MONTHS_PER_YEAR), 1).toEpochDay();
+    }
+
+    /**
+     * @param epochDay epoch day
+     * @return index of the month containing {@code epochDay}, as for {@link #getMonthStartDay(long)}
+     */
+    static long getMonthIndex(final long epochDay) {
+        if (epochDay >= MONTH_START_DAYS[0] && epochDay < MONTH_START_DAYS[MONTH_START_DAYS.length - 1]) {
+            int index = Arrays.binarySearch(MONTH_START_DAYS, epochDay);
+            index = index >= 0 ? index : -index - 2;
+            return (long) FIRST_YEAR * MONTHS_PER_YEAR + index;
+        }
+        final LocalDate date = LocalDate.ofEpochDay(epochDay);
+        return (long) date.getYear() * MONTHS_PER_YEAR + date.getMonthValue() - 1;
+    }
+}
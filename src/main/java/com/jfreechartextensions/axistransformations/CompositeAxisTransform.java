@@ -0,0 +1,117 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * Transforms applied one after another, built by {@link AxisTransforms}.
+ *
+ * Values outside {@code domain} are not visible. When {@code exact} is set, the domain alone decides visibility;
+ * otherwise the stages are asked in turn as well.
+ */
+final class CompositeAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = 5547618430272394310L;
+
+    private final BasicAxisTransform[] stages;
+    private final VisibleDomain domain;
+    private final boolean exact;
+
+    /**
+     * @param stages transforms, in the order they are applied to dataset values
+     * @param domain dataset values which may be visible
+     * @param exact  whether every value in {@code domain} is visible
+     */
+    CompositeAxisTransform(final BasicAxisTransform[] stages, final VisibleDomain domain, final boolean exact) {
+        this.stages = stages;
+        this.domain = domain;
+        this.exact = exact;
+    }
+
+    BasicAxisTransform[] getStages() {
+        return stages.clone();
+    }
+
+    VisibleDomain getDomain() {
+        return domain;
+    }
+
+    boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return the visible domain, or null if the stages have to be asked as well
+     */
+    VisibleDomain getExactDomain() {
+        return exact ? domain : null;
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        double result = dataValue;
+        for (final BasicAxisTransform stage : stages) {
+            result = stage.transform(result);
+        }
+        return result;
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        double result = axisValue;
+        for (int i = stages.length - 1; i >= 0; --i) {
+            result = stages[i].inverseTransform(result);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        if (!domain.contains(dataValue)) {
+            return false;
+        }
+        if (exact) {
+            return true;
+        }
+
+        double value = dataValue;
+        for (final BasicAxisTransform stage : stages) {
+            if (!stage.isVisible(value)) {
+                return false;
+            }
+            value = stage.transform(value);
+        }
+        return true;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        stages[0].transform(src, srcPos, dst, dstPos, length);
+        for (int i = 1; i < stages.length; ++i) {
+            stages[i].transform(dst, dstPos, dst, dstPos, length);
+        }
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        stages[stages.length - 1].inverseTransform(src, srcPos, dst, dstPos, length);
+        for (int i = stages.length - 2; i >= 0; --i) {
+            stages[i].inverseTransform(dst, dstPos, dst, dstPos, length);
+        }
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        int nVisible = 0;
+        for (int i = 0; i < length; ++i) {
+            final boolean visible = exact ? domain.contains(src[srcPos + i]) : isVisible(src[srcPos + i]);
+            dst[dstPos + i] = visible;
+            nVisible += visible ? 1 : 0;
+        }
+        return nVisible;
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return domain.toIntervals();
+    }
+}
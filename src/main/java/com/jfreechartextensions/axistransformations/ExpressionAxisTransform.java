@@ -0,0 +1,318 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Transform defined by a formula in {@code x}, for example {@code "log10(x + 1)"} or {@code "2 * sqrt(x) - 1"}.
+ *
+ * Formulas use {@code + - * / ^}, parentheses, the constants {@code pi} and {@code e}, the functions
+ * {@code exp ln log log10 log1p expm1 sqrt cbrt sin cos tan asin acos atan sinh cosh tanh abs} and the
+ * two-argument functions {@code pow min max atan2 copySign}; {@code log} is the natural logarithm.
+ * Subexpressions without {@code x} are folded into constants.
+ *
+ * The formula is compiled to nested lambdas with the arithmetic and {@link Math} calls written out, so evaluating
+ * it doesn't walk the parsed tree. When {@code x} occurs once, the inverse is derived symbolically and compiled the
+ * same way. Otherwise the inverse is found numerically with {@link NumericInverse}.
+ *
+ * Visible domain: values where the formula is finite. The formula must be monotonic there; formulas without {@code x},
+ * and formulas which rise and fall between the points their domain is scanned at, are rejected. The domain is found
+ * once, when the formula is compiled, and published by {@link #getVisibleIntervals()}; checking visibility doesn't
+ * evaluate the formula. Its ends are found by bisection to the exact double, between the points where an argument
+ * in the formula reaches the edge of its domain, such as a zero denominator, and a scan of every decade. A gap in
+ * the domain which is narrower than a decade and doesn't come from such a point is not found.
+ */
+public final class ExpressionAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = 8807130536927447138L;
+    /**
+     * Points where every formula is checked for finiteness: 1, 2 and 5 times every power of ten of either sign, zero,
+     * the smallest and largest doubles and the infinities.
+     */
+    private static final double[] SCAN_POINTS = scanPoints();
+
+    private final String expression;
+    private final transient DoubleUnaryOperator forward;
+    private final transient DoubleUnaryOperator inverse;
+    private final transient boolean symbolicInverse;
+    /**
+     * Visible domain, in the form of {@link #getVisibleIntervals()}.
+     */
+    private final transient double[] intervals;
+
+    private ExpressionAxisTransform(final String expression) {
+        final ExpressionNode parsed = ExpressionParser.parse(expression);
+        if (!parsed.containsVariable()) {
+            throw new IllegalArgumentException("Expression must contain x: " + expression);
+        }
+        final ExpressionNode inverted = parsed.invert(ExpressionNode.variable());
+
+        this.expression = expression;
+        this.forward = parsed.compile();
+        final double[] points = scanPoints(parsed);
+        checkMonotonic(expression, forward, points);
+        this.intervals = findVisibleIntervals(forward, points);
+        this.symbolicInverse = inverted != null;
+        this.inverse = inverted != null ? inverted.compile() : new NumericInverse(forward, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Parses and compiles a transform formula.
+     *
+     * @param expression formula in {@code x}
+     * @return the transform
+     * @throws IllegalArgumentException if {@code expression} is not a valid formula, doesn't contain {@code x}, is constant
+     *                                  or is found not to be monotonic
+     */
+    public static ExpressionAxisTransform compile(final String expression) {
+        return new ExpressionAxisTransform(expression);
+    }
+
+    /**
+     * @return the formula
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return whether the inverse was derived symbolically, rather than being found numerically
+     */
+    public boolean hasSymbolicInverse() {
+        return symbolicInverse;
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        return forward.applyAsDouble(dataValue);
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return inverse.applyAsDouble(axisValue);
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        //the first interval ending at or after dataValue
+        int low = 0;
+        int high = intervals.length / 2;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (intervals[2 * mid + 1] < dataValue) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < intervals.length / 2 && intervals[2 * low] <= dataValue;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final DoubleUnaryOperator f = forward;
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = f.applyAsDouble(src[srcPos + i]);
+        }
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final DoubleUnaryOperator f = inverse;
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = f.applyAsDouble(src[srcPos + i]);
+        }
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        if (intervals.length == 2) {
+            return BulkKernels.inInterval(src, srcPos, dst, dstPos, length, intervals[0], true, intervals[1]);
+        }
+        int nVisible = 0;
+        for (int i = 0; i < length; ++i) {
+            final boolean visible = isVisible(src[srcPos + i]);
+            dst[dstPos + i] = visible;
+            nVisible += visible ? 1 : 0;
+        }
+        return nVisible;
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return intervals.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "ExpressionAxisTransform[" + expression + "]";
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return new ExpressionAxisTransform(expression);
+    }
+
+    /**
+     * @return {@link #SCAN_POINTS} and the critical points of a formula, sorted
+     */
+    private static double[] scanPoints(final ExpressionNode parsed) {
+        final DoubleList points = new DoubleList();
+        for (final double point : SCAN_POINTS) {
+            points.add(point);
+        }
+        parsed.criticalPoints(value -> {
+            if (!Double.isNaN(value)) {
+                //as a single zero, so that bisection never starts between the two
+                points.add(value + 0.0D);
+            }
+        });
+        return points.toSortedArray();
+    }
+
+    /**
+     * Checks that a formula moves the same way between every two neighbouring scan points where it is finite, and
+     * that it isn't constant. Points on either side of a value where the formula isn't finite are not compared, so
+     * {@code 1 / x} passes, but it must still move the same way on both sides.
+     *
+     * @throws IllegalArgumentException if the formula is constant or rises and falls
+     */
+    private static void checkMonotonic(final String expression, final DoubleUnaryOperator forward, final double[] sorted) {
+        double direction = 0.0D;
+        double previousX = Double.NaN;
+        double previousY = Double.NaN;
+        boolean anyFinite = false;
+        for (final double x : sorted) {
+            final double y = forward.applyAsDouble(x);
+            if (!isFinite(y)) {
+                previousY = Double.NaN;
+                continue;
+            }
+            anyFinite = true;
+            if (!Double.isNaN(previousY) && y != previousY) {
+                final double step = Math.signum(y - previousY);
+                if (direction != 0.0D && step != direction) {
+                    throw new IllegalArgumentException("Expression is not monotonic between " + previousX + " and " + x + ": " + expression);
+                }
+                direction = step;
+            }
+            previousX = x;
+            previousY = y;
+        }
+        if (anyFinite && direction == 0.0D) {
+            throw new IllegalArgumentException("Expression is constant: " + expression);
+        }
+    }
+
+    /**
+     * Finds the values where a formula is finite, as closed intervals between doubles: {@code {lower0, upper0, ...}}.
+     * Finiteness is checked at the scan points, and each change between neighbouring points is narrowed down to the
+     * last double before it.
+     *
+     * @param forward the compiled formula
+     * @param sorted  the scan points of the formula, see {@link #scanPoints(ExpressionNode)}
+     * @return the visible intervals, empty if the formula is nowhere finite
+     */
+    private static double[] findVisibleIntervals(final DoubleUnaryOperator forward, final double[] sorted) {
+        final DoubleList result = new DoubleList();
+        boolean previousFinite = false;
+        for (int i = 0; i < sorted.length; ++i) {
+            final double x = sorted[i];
+            final boolean finite = isFinite(forward.applyAsDouble(x));
+            if (i > 0 && finite != previousFinite) {
+                final double last = lastWithFiniteness(forward, sorted[i - 1], x, previousFinite);
+                result.add(previousFinite ? last : Math.nextUp(last));
+            } else if (i == 0 && finite) {
+                result.add(x);
+            }
+            previousFinite = finite;
+        }
+        if (previousFinite) {
+            result.add(Double.POSITIVE_INFINITY);
+        }
+        return result.toArray();
+    }
+
+    private static double[] scanPoints() {
+        final DoubleList points = new DoubleList();
+        points.add(Double.NEGATIVE_INFINITY);
+        points.add(-Double.MAX_VALUE);
+        points.add(-Double.MIN_VALUE);
+        points.add(0.0D);
+        points.add(Double.MIN_VALUE);
+        points.add(Double.MAX_VALUE);
+        points.add(Double.POSITIVE_INFINITY);
+        for (int exponent = -323; exponent <= 308; ++exponent) {
+            for (final int mantissa : new int[]{1, 2, 5}) {
+                final double value = Double.parseDouble(mantissa + "E" + exponent);
+                if (value > 0 && !Double.isInfinite(value)) {
+                    points.add(value);
+                    points.add(-value);
+                }
+            }
+        }
+        return points.toArray();
+    }
+
+    /**
+     * Bisects between {@code a}, where the finiteness of {@code forward} is {@code finite}, and {@code b}, where it isn't.
+     *
+     * @return the largest double in {@code [a, b)} with that finiteness and whose successor hasn't
+     */
+    private static double lastWithFiniteness(final DoubleUnaryOperator forward, final double a, final double b, final boolean finite) {
+        long low = orderedBits(a);
+        long high = orderedBits(b);
+        //the difference fits in 64 bits unsigned
+        while (high - low != 1) {
+            final long mid = low + ((high - low) >>> 1);
+            if (isFinite(forward.applyAsDouble(fromOrderedBits(mid))) == finite) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return fromOrderedBits(low);
+    }
+
+    /**
+     * @return a long which orders as {@code value} does among doubles, with both zeros mapped to 0
+     */
+    private static long orderedBits(final double value) {
+        final long bits = Double.doubleToRawLongBits(value);
+        return bits < 0 ? Long.MIN_VALUE - bits : bits;
+    }
+
+    private static double fromOrderedBits(final long ordered) {
+        return Double.longBitsToDouble(ordered < 0 ? Long.MIN_VALUE - ordered : ordered);
+    }
+
+    private static boolean isFinite(final double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+    /**
+     * Growable array of doubles.
+     */
+    private static final class DoubleList {
+        private double[] values = new double[64];
+        private int size;
+
+        private void add(final double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        private double[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private double[] toSortedArray() {
+            final double[] result = toArray();
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
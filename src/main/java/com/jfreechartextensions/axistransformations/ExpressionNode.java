@@ -0,0 +1,546 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Node of a parsed transform expression in one variable.
+ *
+ * Nodes are immutable. The factory methods fold subexpressions which don't depend on the variable into constants.
+ */
+abstract class ExpressionNode {
+
+    /**
+     * Evaluates the expression.
+     *
+     * @param x value of the variable
+     * @return value of the expression
+     */
+    abstract double evaluate(double x);
+
+    /**
+     * @return whether the expression depends on the variable
+     */
+    abstract boolean containsVariable();
+
+    /**
+     * Compiles the expression to nested lambdas, one per node. Arithmetic with a constant operand and calls to
+     * {@link Math} are written out in each lambda, so that the JIT can inline them.
+     *
+     * @return a function evaluating the expression
+     */
+    abstract DoubleUnaryOperator compile();
+
+    /**
+     * Reports the values of the variable where an argument of a function or operator in this expression reaches the
+     * edge of its domain, for example where a denominator is zero, as far as they can be solved for.
+     * Visibility can change at these points even when it doesn't change between them.
+     *
+     * @param points receives the values of the variable
+     */
+    abstract void criticalPoints(DoubleConsumer points);
+
+    /**
+     * Solves {@code argument = value} for the variable and reports the solution, and its negation in case
+     * {@code argument} is even in the variable.
+     */
+    private static void solve(final ExpressionNode argument, final double value, final DoubleConsumer points) {
+        final ExpressionNode solution = argument.containsVariable() ? argument.invert(constant(value)) : null;
+        if (solution != null) {
+            final double x = solution.evaluate(0.0D);
+            points.accept(x);
+            points.accept(-x);
+        }
+    }
+
+    /**
+     * Solves this expression for the variable, along the single path from the root to the variable.
+     *
+     * @param value expression for the value of this node, in terms of the variable
+     * @return expression for the variable, or null if a node on the path can't be inverted
+     */
+    abstract ExpressionNode invert(ExpressionNode value);
+
+    static ExpressionNode constant(final double value) {
+        return new Constant(value);
+    }
+
+    static ExpressionNode variable() {
+        return Variable.INSTANCE;
+    }
+
+    static ExpressionNode negate(final ExpressionNode operand) {
+        return operand.containsVariable() ? new Negate(operand) : constant(-operand.evaluate(0.0D));
+    }
+
+    static ExpressionNode binary(final Operator operator, final ExpressionNode left, final ExpressionNode right) {
+        final Binary result = new Binary(operator, left, right);
+        return result.containsVariable() ? result : constant(result.evaluate(0.0D));
+    }
+
+    static ExpressionNode call(final Function function, final ExpressionNode argument) {
+        final Call result = new Call(function, argument);
+        return result.containsVariable() ? result : constant(result.evaluate(0.0D));
+    }
+
+    /**
+     * Binary operators and two-argument functions.
+     */
+    enum Operator {
+        ADD(null, (a, b) -> a + b),
+        SUBTRACT(null, (a, b) -> a - b),
+        MULTIPLY(null, (a, b) -> a * b),
+        DIVIDE(null, (a, b) -> a / b),
+        POWER("pow", Math::pow),
+        MIN("min", Math::min),
+        MAX("max", Math::max),
+        ATAN2("atan2", Math::atan2),
+        COPY_SIGN("copySign", Math::copySign);
+
+        private final String functionName;
+        private final DoubleBinaryOperator operator;
+
+        Operator(final String functionName, final DoubleBinaryOperator operator) {
+            this.functionName = functionName;
+            this.operator = operator;
+        }
+
+        /**
+         * @return a function computing {@code left(x) op right(x)}
+         */
+        private DoubleUnaryOperator compose(final DoubleUnaryOperator left, final DoubleUnaryOperator right) {
+            switch (this) {
+                case ADD:
+                    return x -> left.applyAsDouble(x) + right.applyAsDouble(x);
+                case SUBTRACT:
+                    return x -> left.applyAsDouble(x) - right.applyAsDouble(x);
+                case MULTIPLY:
+                    return x -> left.applyAsDouble(x) * right.applyAsDouble(x);
+                case DIVIDE:
+                    return x -> left.applyAsDouble(x) / right.applyAsDouble(x);
+                case POWER:
+                    return x -> Math.pow(left.applyAsDouble(x), right.applyAsDouble(x));
+                default:
+                    final DoubleBinaryOperator op = operator;
+                    return x -> op.applyAsDouble(left.applyAsDouble(x), right.applyAsDouble(x));
+            }
+        }
+
+        /**
+         * @return a function computing {@code left(x) op c}
+         */
+        private DoubleUnaryOperator composeLeft(final DoubleUnaryOperator left, final double c) {
+            switch (this) {
+                case ADD:
+                    return x -> left.applyAsDouble(x) + c;
+                case SUBTRACT:
+                    return x -> left.applyAsDouble(x) - c;
+                case MULTIPLY:
+                    return x -> left.applyAsDouble(x) * c;
+                case DIVIDE:
+                    return x -> left.applyAsDouble(x) / c;
+                case POWER:
+                    return x -> Math.pow(left.applyAsDouble(x), c);
+                default:
+                    final DoubleBinaryOperator op = operator;
+                    return x -> op.applyAsDouble(left.applyAsDouble(x), c);
+            }
+        }
+
+        /**
+         * @return a function computing {@code c op right(x)}
+         */
+        private DoubleUnaryOperator composeRight(final double c, final DoubleUnaryOperator right) {
+            switch (this) {
+                case ADD:
+                    return x -> c + right.applyAsDouble(x);
+                case SUBTRACT:
+                    return x -> c - right.applyAsDouble(x);
+                case MULTIPLY:
+                    return x -> c * right.applyAsDouble(x);
+                case DIVIDE:
+                    return x -> c / right.applyAsDouble(x);
+                case POWER:
+                    return x -> Math.pow(c, right.applyAsDouble(x));
+                default:
+                    final DoubleBinaryOperator op = operator;
+                    return x -> op.applyAsDouble(c, right.applyAsDouble(x));
+            }
+        }
+
+        /**
+         * @param name function name in expressions
+         * @return the two-argument function with that name, or null
+         */
+        static Operator forFunctionName(final String name) {
+            for (final Operator operator : values()) {
+                if (name.equals(operator.functionName)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One-argument functions, with their inverses where they are monotonic.
+     */
+    enum Function {
+        EXP("exp", Math::exp),
+        LN("ln", Math::log),
+        LOG("log", Math::log),
+        LOG10("log10", Math::log10),
+        LOG1P("log1p", Math::log1p),
+        EXPM1("expm1", Math::expm1),
+        SQRT("sqrt", Math::sqrt),
+        CBRT("cbrt", Math::cbrt),
+        SIN("sin", Math::sin),
+        COS("cos", Math::cos),
+        TAN("tan", Math::tan),
+        ASIN("asin", Math::asin),
+        ACOS("acos", Math::acos),
+        ATAN("atan", Math::atan),
+        SINH("sinh", Math::sinh),
+        COSH("cosh", Math::cosh),
+        TANH("tanh", Math::tanh),
+        ABS("abs", Math::abs);
+
+        private final String name;
+        private final DoubleUnaryOperator function;
+
+        Function(final String name, final DoubleUnaryOperator function) {
+            this.name = name;
+            this.function = function;
+        }
+
+        /**
+         * @param y expression for the value of the function
+         * @return expression for its argument, or null if the function is not invertible
+         */
+        private ExpressionNode inverse(final ExpressionNode y) {
+            switch (this) {
+                case EXP:
+                    return call(LN, y);
+                case LN:
+                case LOG:
+                    return call(EXP, y);
+                case LOG10:
+                    return binary(Operator.POWER, constant(10.0D), y);
+                case LOG1P:
+                    return call(EXPM1, y);
+                case EXPM1:
+                    return call(LOG1P, y);
+                case SQRT:
+                    return binary(Operator.MULTIPLY, y, y);
+                case CBRT:
+                    return binary(Operator.MULTIPLY, y, binary(Operator.MULTIPLY, y, y));
+                case SIN:
+                    return call(ASIN, y);
+                case COS:
+                    return call(ACOS, y);
+                case TAN:
+                    return call(ATAN, y);
+                case ASIN:
+                    return call(SIN, y);
+                case ACOS:
+                    return call(COS, y);
+                case ATAN:
+                    return call(TAN, y);
+                case SINH:
+                    //asinh(y) = ln(y + sqrt(y^2 + 1))
+                    return call(LN, binary(Operator.ADD, y, call(SQRT, binary(Operator.ADD, binary(Operator.MULTIPLY, y, y), constant(1.0D)))));
+                case COSH:
+                    //acosh(y) = ln(y + sqrt(y^2 - 1))
+                    return call(LN, binary(Operator.ADD, y, call(SQRT, binary(Operator.SUBTRACT, binary(Operator.MULTIPLY, y, y), constant(1.0D)))));
+                case TANH:
+                    //atanh(y) = ln((1 + y) / (1 - y)) / 2
+                    return binary(Operator.MULTIPLY, constant(0.5D),
+                            call(LN, binary(Operator.DIVIDE, binary(Operator.ADD, constant(1.0D), y), binary(Operator.SUBTRACT, constant(1.0D), y))));
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * @param name function name in expressions
+         * @return the one-argument function with that name, or null
+         */
+        static Function forName(final String name) {
+            for (final Function function : values()) {
+                if (name.equals(function.name)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return a function computing this function of {@code argument(x)}
+         */
+        private DoubleUnaryOperator compose(final DoubleUnaryOperator argument) {
+            switch (this) {
+                case EXP:
+                    return x -> Math.exp(argument.applyAsDouble(x));
+                case LN:
+                case LOG:
+                    return x -> Math.log(argument.applyAsDouble(x));
+                case LOG10:
+                    return x -> Math.log10(argument.applyAsDouble(x));
+                case LOG1P:
+                    return x -> Math.log1p(argument.applyAsDouble(x));
+                case EXPM1:
+                    return x -> Math.expm1(argument.applyAsDouble(x));
+                case SQRT:
+                    return x -> Math.sqrt(argument.applyAsDouble(x));
+                case CBRT:
+                    return x -> Math.cbrt(argument.applyAsDouble(x));
+                case SIN:
+                    return x -> Math.sin(argument.applyAsDouble(x));
+                case COS:
+                    return x -> Math.cos(argument.applyAsDouble(x));
+                case TAN:
+                    return x -> Math.tan(argument.applyAsDouble(x));
+                case ABS:
+                    return x -> Math.abs(argument.applyAsDouble(x));
+                default:
+                    final DoubleUnaryOperator f = function;
+                    return x -> f.applyAsDouble(argument.applyAsDouble(x));
+            }
+        }
+
+        /**
+         * Reports the values of {@code argument} where this function leaves its domain.
+         */
+        private void criticalArguments(final ExpressionNode argument, final DoubleConsumer points) {
+            switch (this) {
+                case LN:
+                case LOG:
+                case LOG10:
+                case SQRT:
+                    solve(argument, 0.0D, points);
+                    break;
+                case LOG1P:
+                    solve(argument, -1.0D, points);
+                    break;
+                case ASIN:
+                case ACOS:
+                    solve(argument, -1.0D, points);
+                    solve(argument, 1.0D, points);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static final class Constant extends ExpressionNode {
+        private final double value;
+
+        private Constant(final double value) {
+            this.value = value;
+        }
+
+        @Override
+        double evaluate(final double x) {
+            return value;
+        }
+
+        @Override
+        boolean containsVariable() {
+            return false;
+        }
+
+        @Override
+        DoubleUnaryOperator compile() {
+            final double c = value;
+            return x -> c;
+        }
+
+        @Override
+        void criticalPoints(final DoubleConsumer points) {
+        }
+
+        @Override
+        ExpressionNode invert(final ExpressionNode y) {
+            return null;
+        }
+    }
+
+    private static final class Variable extends ExpressionNode {
+        private static final Variable INSTANCE = new Variable();
+
+        @Override
+        double evaluate(final double x) {
+            return x;
+        }
+
+        @Override
+        boolean containsVariable() {
+            return true;
+        }
+
+        @Override
+        DoubleUnaryOperator compile() {
+            return x -> x;
+        }
+
+        @Override
+        void criticalPoints(final DoubleConsumer points) {
+        }
+
+        @Override
+        ExpressionNode invert(final ExpressionNode y) {
+            return y;
+        }
+    }
+
+    private static final class Negate extends ExpressionNode {
+        private final ExpressionNode operand;
+
+        private Negate(final ExpressionNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double evaluate(final double x) {
+            return -operand.evaluate(x);
+        }
+
+        @Override
+        boolean containsVariable() {
+            return operand.containsVariable();
+        }
+
+        @Override
+        DoubleUnaryOperator compile() {
+            final DoubleUnaryOperator f = operand.compile();
+            return x -> -f.applyAsDouble(x);
+        }
+
+        @Override
+        void criticalPoints(final DoubleConsumer points) {
+            operand.criticalPoints(points);
+        }
+
+        @Override
+        ExpressionNode invert(final ExpressionNode y) {
+            return operand.invert(negate(y));
+        }
+    }
+
+    private static final class Binary extends ExpressionNode {
+        private final Operator operator;
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        private Binary(final Operator operator, final ExpressionNode left, final ExpressionNode right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(final double x) {
+            return operator.operator.applyAsDouble(left.evaluate(x), right.evaluate(x));
+        }
+
+        @Override
+        boolean containsVariable() {
+            return left.containsVariable() || right.containsVariable();
+        }
+
+        @Override
+        DoubleUnaryOperator compile() {
+            //at most one side is constant, since constant subexpressions are folded
+            if (!right.containsVariable()) {
+                return operator.composeLeft(left.compile(), right.evaluate(0.0D));
+            }
+            if (!left.containsVariable()) {
+                return operator.composeRight(left.evaluate(0.0D), right.compile());
+            }
+            return operator.compose(left.compile(), right.compile());
+        }
+
+        @Override
+        void criticalPoints(final DoubleConsumer points) {
+            left.criticalPoints(points);
+            right.criticalPoints(points);
+            if (operator == Operator.DIVIDE) {
+                solve(right, 0.0D, points);
+            } else if (operator == Operator.POWER) {
+                solve(left, 0.0D, points);
+            }
+        }
+
+        @Override
+        ExpressionNode invert(final ExpressionNode y) {
+            final boolean inLeft = left.containsVariable();
+            if (inLeft && right.containsVariable()) {
+                return null;
+            }
+
+            final ExpressionNode path = inLeft ? left : right;
+            final ExpressionNode other = inLeft ? right : left;
+            switch (operator) {
+                case ADD:
+                    return path.invert(binary(Operator.SUBTRACT, y, other));
+                case SUBTRACT:
+                    return path.invert(inLeft ? binary(Operator.ADD, y, other) : binary(Operator.SUBTRACT, other, y));
+                case MULTIPLY:
+                    return path.invert(binary(Operator.DIVIDE, y, other));
+                case DIVIDE:
+                    return path.invert(inLeft ? binary(Operator.MULTIPLY, y, other) : binary(Operator.DIVIDE, other, y));
+                case POWER:
+                    //c^x = y gives x = ln(y) / ln(c)
+                    if (!inLeft) {
+                        return path.invert(binary(Operator.DIVIDE, call(Function.LN, y), constant(Math.log(other.evaluate(0.0D)))));
+                    }
+                    //x^c = y gives x = y^(1/c), keeping the sign of y for odd integer powers
+                    final double exponent = other.evaluate(0.0D);
+                    final ExpressionNode root = binary(Operator.POWER, call(Function.ABS, y), constant(1.0D / exponent));
+                    final boolean odd = exponent == Math.rint(exponent) && Math.abs(exponent % 2) == 1;
+                    return path.invert(odd ? binary(Operator.COPY_SIGN, root, y) : binary(Operator.POWER, y, constant(1.0D / exponent)));
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static final class Call extends ExpressionNode {
+        private final Function function;
+        private final ExpressionNode argument;
+
+        private Call(final Function function, final ExpressionNode argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        @Override
+        double evaluate(final double x) {
+            return function.function.applyAsDouble(argument.evaluate(x));
+        }
+
+        @Override
+        boolean containsVariable() {
+            return argument.containsVariable();
+        }
+
+        @Override
+        DoubleUnaryOperator compile() {
+            return function.compose(argument.compile());
+        }
+
+        @Override
+        void criticalPoints(final DoubleConsumer points) {
+            argument.criticalPoints(points);
+            function.criticalArguments(argument, points);
+        }
+
+        @Override
+        ExpressionNode invert(final ExpressionNode y) {
+            final ExpressionNode value = function.inverse(y);
+            return value == null ? null : argument.invert(value);
+        }
+    }
+}
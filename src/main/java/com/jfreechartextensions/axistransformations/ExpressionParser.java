@@ -0,0 +1,197 @@
+package com.jfreechartextensions.axistransformations;
+
+/**
+ * Recursive descent parser for transform expressions.
+ *
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := ('+' | '-') unary | power
+ * power      := primary ('^' unary)?
+ * primary    := number | 'x' | 'pi' | 'e' | function '(' expression (',' expression)? ')' | '(' expression ')'
+ * </pre>
+ */
+final class ExpressionParser {
+
+    private final String text;
+    private int position;
+
+    private ExpressionParser(final String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses an expression in the variable {@code x}.
+     *
+     * @param text expression
+     * @return the parsed expression
+     * @throws IllegalArgumentException if {@code text} is not a valid expression
+     */
+    static ExpressionNode parse(final String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Expression must not be null");
+        }
+
+        final ExpressionParser parser = new ExpressionParser(text);
+        final ExpressionNode result = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("Unexpected '" + text.charAt(parser.position) + "'");
+        }
+        return result;
+    }
+
+    private ExpressionNode expression() {
+        ExpressionNode result = term();
+        while (true) {
+            if (accept('+')) {
+                result = ExpressionNode.binary(ExpressionNode.Operator.ADD, result, term());
+            } else if (accept('-')) {
+                result = ExpressionNode.binary(ExpressionNode.Operator.SUBTRACT, result, term());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private ExpressionNode term() {
+        ExpressionNode result = unary();
+        while (true) {
+            if (accept('*')) {
+                result = ExpressionNode.binary(ExpressionNode.Operator.MULTIPLY, result, unary());
+            } else if (accept('/')) {
+                result = ExpressionNode.binary(ExpressionNode.Operator.DIVIDE, result, unary());
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private ExpressionNode unary() {
+        if (accept('-')) {
+            return ExpressionNode.negate(unary());
+        }
+        if (accept('+')) {
+            return unary();
+        }
+        return power();
+    }
+
+    private ExpressionNode power() {
+        final ExpressionNode base = primary();
+        return accept('^') ? ExpressionNode.binary(ExpressionNode.Operator.POWER, base, unary()) : base;
+    }
+
+    private ExpressionNode primary() {
+        skipWhitespace();
+        if (position == text.length()) {
+            throw error("Unexpected end of expression");
+        }
+
+        final char c = text.charAt(position);
+        if (accept('(')) {
+            final ExpressionNode result = expression();
+            expect(')');
+            return result;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return ExpressionNode.constant(number());
+        }
+        if (Character.isLetter(c)) {
+            final int start = position;
+            final String name = identifier();
+            switch (name) {
+                case "x":
+                    return ExpressionNode.variable();
+                case "pi":
+                    return ExpressionNode.constant(Math.PI);
+                case "e":
+                    return ExpressionNode.constant(Math.E);
+                default:
+                    return call(name, start);
+            }
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private ExpressionNode call(final String name, final int start) {
+        final ExpressionNode.Function function = ExpressionNode.Function.forName(name);
+        final ExpressionNode.Operator operator = function == null ? ExpressionNode.Operator.forFunctionName(name) : null;
+        if (function == null && operator == null) {
+            position = start;
+            throw error("Unknown function or variable '" + name + "'");
+        }
+
+        expect('(');
+        final ExpressionNode first = expression();
+        final ExpressionNode result;
+        if (function != null) {
+            result = ExpressionNode.call(function, first);
+        } else {
+            expect(',');
+            result = ExpressionNode.binary(operator, first, expression());
+        }
+        expect(')');
+        return result;
+    }
+
+    private double number() {
+        final int start = position;
+        while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            ++position;
+        }
+        if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            int exponent = position + 1;
+            if (exponent < text.length() && (text.charAt(exponent) == '+' || text.charAt(exponent) == '-')) {
+                ++exponent;
+            }
+            if (exponent < text.length() && Character.isDigit(text.charAt(exponent))) {
+                position = exponent;
+                while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                    ++position;
+                }
+            }
+        }
+
+        final String number = text.substring(start, position);
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    private String identifier() {
+        final int start = position;
+        while (position < text.length() && Character.isLetterOrDigit(text.charAt(position))) {
+            ++position;
+        }
+        return text.substring(start, position);
+    }
+
+    private boolean accept(final char c) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == c) {
+            ++position;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(final char c) {
+        if (!accept(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            ++position;
+        }
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in expression: " + text);
+    }
+}
@@ -0,0 +1,455 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.chart.axis.AxisState;
+import org.jfree.chart.axis.CategoryAxis;
+import org.jfree.chart.axis.CategoryLabelPosition;
+import org.jfree.chart.axis.CategoryLabelWidthType;
+import org.jfree.chart.axis.CategoryTick;
+import org.jfree.chart.entity.CategoryLabelEntity;
+import org.jfree.chart.entity.EntityCollection;
+import org.jfree.chart.plot.CategoryPlot;
+import org.jfree.chart.plot.Plot;
+import org.jfree.chart.plot.PlotRenderingInfo;
+import org.jfree.data.category.CategoryDataset;
+import org.jfree.text.TextBlock;
+import org.jfree.ui.RectangleAnchor;
+import org.jfree.ui.RectangleEdge;
+import org.jfree.ui.RectangleInsets;
+import org.jfree.ui.Size2D;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Line2D;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Category axis for plots with thousands of categories.
+ *
+ * {@link CategoryAxis} creates, wraps and measures the label of every category on every draw, even when the categories
+ * are less than a pixel wide. This axis labels every category only when the labels fit; otherwise it labels every 2nd,
+ * 5th, 10th... category, with the stride chosen from the widths of the labels it would draw. Only the labeled categories
+ * get text blocks and tick marks, so laying out the axis scales with its length in pixels rather than the category count.
+ *
+ * Label widths and text blocks are cached per category until the category's font, paint or available width changes.
+ */
+public class ExtendedCategoryAxis extends CategoryAxis {
+
+    private static final long serialVersionUID = 3805726409912875326L;
+
+    private static final int MAX_CACHED_LABELS = 4096;
+
+    private transient volatile LabelCache labelCache;
+
+    public ExtendedCategoryAxis() {
+        super();
+    }
+
+    /**
+     * @param label axis label, null permitted
+     */
+    public ExtendedCategoryAxis(final String label) {
+        super(label);
+    }
+
+    /**
+     * Creates the ticks of the labeled categories. {@link AxisState#getMax()} is set to the largest extent of their
+     * labels perpendicular to the axis.
+     *
+     * @param g2       the graphics device
+     * @param state    the axis state
+     * @param dataArea the area inside the axes
+     * @param edge     the location of the axis
+     * @return a tick for every labeled category
+     */
+    @Override
+    @SuppressWarnings("rawtypes")
+    public java.util.List refreshTicks(Graphics2D g2, AxisState state, Rectangle2D dataArea, RectangleEdge edge) {
+        final java.util.List<CategoryTick> ticks = new ArrayList<>();
+        state.setMax(0.0D);
+        if (dataArea.getHeight() <= 0.0 || dataArea.getWidth() < 0.0) {
+            return ticks;
+        }
+
+        final java.util.List<?> categories = getCategories();
+        final int count = categories.size();
+        if (count == 0) {
+            return ticks;
+        }
+
+        final CategoryLabelPosition position = getCategoryLabelPositions().getLabelPosition(edge);
+        final boolean horizontal = RectangleEdge.isTopOrBottom(edge);
+        final int stride = selectStride(g2, categories, dataArea, edge);
+
+        float r = getMaximumCategoryLabelWidthRatio();
+        if (r <= 0.0) {
+            r = position.getWidthRatio();
+        }
+        final double l;
+        if (position.getWidthType() == CategoryLabelWidthType.CATEGORY) {
+            //a thinned label may use the space of the categories up to the next label
+            l = stride == 1 ? calculateCategorySize(count, dataArea, edge) : stride * getCategorySpacing(count, dataArea, edge);
+        } else {
+            l = horizontal ? dataArea.getHeight() : dataArea.getWidth();
+        }
+        final float width = (float) (l * r);
+
+        final RectangleInsets insets = getTickLabelInsets();
+        final double perpendicularInsets = horizontal ? insets.getTop() + insets.getBottom() : insets.getLeft() + insets.getRight();
+        double max = 0.0D;
+        for (int i = 0; i < count; i += stride) {
+            final Comparable<?> category = (Comparable<?>) categories.get(i);
+            final CachedLabel label = getLabel(category, width, edge, g2);
+            max = Math.max(max, TickLabelMetrics.getRotatedExtent(label.blockWidth, label.blockHeight, position.getAngle(), !horizontal)
+                    + perpendicularInsets);
+            ticks.add(new IndexedCategoryTick(category, label.block, position, i, count));
+            if (i > count - stride) {
+                break;
+            }
+        }
+        state.setMax(max);
+        return ticks;
+    }
+
+    /**
+     * Draws the labels of the labeled categories, each at its own category.
+     *
+     * @param g2        the graphics device
+     * @param plotArea  the plot area
+     * @param dataArea  the area inside the axes
+     * @param edge      the axis location
+     * @param state     the axis state
+     * @param plotState collects information about the plot, null permitted
+     * @return the updated axis state
+     */
+    @Override
+    protected AxisState drawCategoryLabels(Graphics2D g2, Rectangle2D plotArea, Rectangle2D dataArea, RectangleEdge edge,
+                                           AxisState state, PlotRenderingInfo plotState) {
+        if (!isTickLabelsVisible()) {
+            return state;
+        }
+
+        //thinned relative to the data area, where the categories are
+        final java.util.List<?> ticks = refreshTicks(g2, state, dataArea, edge);
+        state.setTicks(ticks);
+        final CategoryLabelPosition position = getCategoryLabelPositions().getLabelPosition(edge);
+        final double offset = getCategoryLabelPositionOffset();
+        final EntityCollection entities = plotState != null && plotState.getOwner() != null ? plotState.getOwner().getEntityCollection() : null;
+
+        for (final Object o : ticks) {
+            final IndexedCategoryTick tick = (IndexedCategoryTick) o;
+            g2.setFont(getTickLabelFont(tick.getCategory()));
+            g2.setPaint(getTickLabelPaint(tick.getCategory()));
+
+            final double start = getCategoryStart(tick.index, tick.count, dataArea, edge);
+            final double end = getCategoryEnd(tick.index, tick.count, dataArea, edge);
+            final Rectangle2D area;
+            if (edge == RectangleEdge.TOP) {
+                area = new Rectangle2D.Double(start, state.getCursor() - offset - state.getMax(), end - start, state.getMax());
+            } else if (edge == RectangleEdge.BOTTOM) {
+                area = new Rectangle2D.Double(start, state.getCursor() + offset, end - start, state.getMax());
+            } else if (edge == RectangleEdge.LEFT) {
+                area = new Rectangle2D.Double(state.getCursor() - offset - state.getMax(), start, state.getMax(), end - start);
+            } else {
+                //as CategoryAxis, whose right edge area has a negative width
+                area = new Rectangle2D.Double(state.getCursor() + offset, start, -state.getMax(), end - start);
+            }
+
+            final Point2D anchorPoint = RectangleAnchor.coordinates(area, position.getCategoryAnchor());
+            final float x = (float) anchorPoint.getX();
+            final float y = (float) anchorPoint.getY();
+            final TextBlock block = tick.getLabel();
+            block.draw(g2, x, y, position.getLabelAnchor(), x, y, position.getAngle());
+            if (entities != null) {
+                final Shape bounds = block.calculateBounds(g2, x, y, position.getLabelAnchor(), x, y, position.getAngle());
+                entities.add(new CategoryLabelEntity(tick.getCategory(), bounds, getCategoryLabelToolTip(tick.getCategory()),
+                        getCategoryLabelURL(tick.getCategory())));
+            }
+        }
+
+        final double extent = state.getMax() + offset;
+        if (edge == RectangleEdge.TOP) {
+            state.cursorUp(extent);
+        } else if (edge == RectangleEdge.BOTTOM) {
+            state.cursorDown(extent);
+        } else if (edge == RectangleEdge.LEFT) {
+            state.cursorLeft(extent);
+        } else if (edge == RectangleEdge.RIGHT) {
+            state.cursorRight(extent);
+        }
+        return state;
+    }
+
+    /**
+     * Draws tick marks at the labeled categories, or, with tick labels hidden, at as many categories as are
+     * {@link ExtendedNumberAxis#MIN_TICK_SPACING} apart.
+     *
+     * @param g2       the graphics target
+     * @param cursor   the cursor position
+     * @param dataArea the area for plotting the data
+     * @param edge     the location of the axis
+     * @param state    the axis state
+     */
+    @Override
+    public void drawTickMarks(Graphics2D g2, double cursor, Rectangle2D dataArea, RectangleEdge edge, AxisState state) {
+        if (!(getPlot() instanceof CategoryPlot)) {
+            return;
+        }
+
+        final java.util.List<?> categories = getCategories();
+        final int count = categories.size();
+        final int stride = selectStride(g2, categories, dataArea, edge);
+        final double il = getTickMarkInsideLength();
+        final double ol = getTickMarkOutsideLength();
+        final Line2D line = new Line2D.Double();
+        g2.setPaint(getTickMarkPaint());
+        g2.setStroke(getTickMarkStroke());
+        final Object saved = g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+        g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+
+        //inward and outward directions of the tick marks
+        final double sign = edge == RectangleEdge.TOP || edge == RectangleEdge.LEFT ? -1.0D : 1.0D;
+        for (int i = 0; i < count; i += stride) {
+            final double middle = getCategoryMiddle(i, count, dataArea, edge);
+            if (RectangleEdge.isTopOrBottom(edge)) {
+                line.setLine(middle, cursor, middle, cursor - sign * il);
+                g2.draw(line);
+                line.setLine(middle, cursor, middle, cursor + sign * ol);
+            } else {
+                line.setLine(cursor, middle, cursor - sign * il, middle);
+                g2.draw(line);
+                line.setLine(cursor, middle, cursor + sign * ol, middle);
+            }
+            g2.draw(line);
+            if (i > count - stride) {
+                break;
+            }
+        }
+        g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, saved);
+
+        if (edge == RectangleEdge.TOP) {
+            state.cursorUp(ol);
+        } else if (edge == RectangleEdge.BOTTOM) {
+            state.cursorDown(ol);
+        } else if (edge == RectangleEdge.LEFT) {
+            state.cursorLeft(ol);
+        } else if (edge == RectangleEdge.RIGHT) {
+            state.cursorRight(ol);
+        }
+    }
+
+    /**
+     * Gets the categories of the datasets mapped to this axis, as {@link CategoryPlot#getCategoriesForAxis(CategoryAxis)}.
+     * That method checks every category against the ones before it, so with a single dataset its column keys are used
+     * directly.
+     *
+     * @return the categories in axis order, empty if the axis doesn't belong to a category plot
+     */
+    private java.util.List<?> getCategories() {
+        final Plot p = getPlot();
+        if (!(p instanceof CategoryPlot)) {
+            return java.util.Collections.emptyList();
+        }
+
+        final CategoryPlot plot = (CategoryPlot) p;
+        final CategoryDataset dataset = plot.getDatasetCount() == 1 ? plot.getDataset(0) : null;
+        if (dataset != null && plot.getDomainAxisForDataset(0) == this) {
+            return dataset.getColumnKeys();
+        }
+        return plot.getCategoriesForAxis(this);
+    }
+
+    /**
+     * @return distance between the middles of adjacent categories, in pixels
+     */
+    private double getCategorySpacing(final int count, final Rectangle2D area, final RectangleEdge edge) {
+        if (count < 2) {
+            return RectangleEdge.isTopOrBottom(edge) ? area.getWidth() : area.getHeight();
+        }
+        return Math.abs(getCategoryMiddle(1, count, area, edge) - getCategoryMiddle(0, count, area, edge));
+    }
+
+    /**
+     * Selects how many categories apart the labels are, from 1, 2, 5, 10, 20, 50...
+     * <p>
+     * The widest unwrapped label along the axis is estimated from a sample of categories no closer than a line of text,
+     * so no more labels are measured than fit along the axis, and the stride is the smallest that leaves room for it.
+     *
+     * @return the label stride, from 1 to the category count
+     */
+    private int selectStride(final Graphics2D g2, final java.util.List<?> categories, final Rectangle2D area, final RectangleEdge edge) {
+        final int count = categories.size();
+        final double spacing = getCategorySpacing(count, area, edge);
+        if (count < 2) {
+            return 1;
+        }
+        if (!isTickLabelsVisible()) {
+            return spacing >= ExtendedNumberAxis.MIN_TICK_SPACING ? 1 : strideFor(ExtendedNumberAxis.MIN_TICK_SPACING, spacing, count);
+        }
+
+        final FontRenderContext frc = g2.getFontRenderContext();
+        final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), frc);
+        final double minExtent = Math.max(ExtendedNumberAxis.MIN_TICK_SPACING, metrics.getHeight());
+        final int sampleStride = spacing >= minExtent ? 1 : strideFor(minExtent, spacing, count);
+
+        final boolean horizontal = RectangleEdge.isTopOrBottom(edge);
+        final double angle = getCategoryLabelPositions().getLabelPosition(edge).getAngle();
+        final RectangleInsets insets = getTickLabelInsets();
+        double extent = 0.0D;
+        for (int i = 0; i < count; i += sampleStride) {
+            final Comparable<?> category = (Comparable<?>) categories.get(i);
+            final CachedLabel label = getLineWidth(category, frc);
+            extent = Math.max(extent, TickLabelMetrics.getRotatedExtent(label.lineWidth, label.lineHeight, angle, horizontal));
+            if (i > count - sampleStride) {
+                break;
+            }
+        }
+        extent += horizontal ? insets.getLeft() + insets.getRight() : insets.getTop() + insets.getBottom();
+
+        return spacing >= extent ? sampleStride : Math.max(sampleStride, strideFor(extent, spacing, count));
+    }
+
+    private static int strideFor(final double extent, final double spacing, final int count) {
+        return spacing > 0 ? Math.min(count, ExtendedNumberAxis.roundUpStride(Math.ceil(extent / spacing))) : count;
+    }
+
+    /**
+     * @return the cached label of {@code category} with at least its single line width
+     */
+    private CachedLabel getLineWidth(final Comparable<?> category, final FontRenderContext frc) {
+        final Font font = getTickLabelFont(category);
+        final ConcurrentHashMap<Comparable<?>, CachedLabel> labels = getLabelCache(frc).labels;
+        CachedLabel label = labels.get(category);
+        if (label == null || !label.font.equals(font)) {
+            final TickLabelMetrics metrics = TickLabelMetrics.getInstance(font, frc);
+            label = new CachedLabel(font, metrics.getWidth(category.toString()), metrics.getHeight());
+            putLabel(labels, category, label);
+        }
+        return label;
+    }
+
+    /**
+     * @return the cached label of {@code category} with a text block wrapped to {@code width}
+     */
+    private CachedLabel getLabel(final Comparable<?> category, final float width, final RectangleEdge edge, final Graphics2D g2) {
+        final FontRenderContext frc = g2.getFontRenderContext();
+        final CachedLabel line = getLineWidth(category, frc);
+        final Paint paint = getTickLabelPaint(category);
+        if (line.hasBlock(width, edge, paint)) {
+            return line;
+        }
+
+        g2.setFont(line.font);
+        final TextBlock block = createLabel(category, width, edge, g2);
+        final Size2D size = block.calculateDimensions(g2);
+        final CachedLabel label = new CachedLabel(line, paint, width, edge, block, size.getWidth(), size.getHeight());
+        putLabel(getLabelCache(frc).labels, category, label);
+        return label;
+    }
+
+    private static void putLabel(final ConcurrentHashMap<Comparable<?>, CachedLabel> labels, final Comparable<?> category, final CachedLabel label) {
+        if (labels.size() >= MAX_CACHED_LABELS) {
+            labels.clear();
+        }
+        labels.put(category, label);
+    }
+
+    /**
+     * @return the label cache for the render context and the current maximum label lines
+     */
+    private LabelCache getLabelCache(final FontRenderContext frc) {
+        LabelCache cache = this.labelCache;
+        if (cache == null || !Objects.equals(cache.fontRenderContext, frc) || cache.maximumLines != getMaximumCategoryLabelLines()) {
+            cache = new LabelCache(frc, getMaximumCategoryLabelLines());
+            this.labelCache = cache;
+        }
+        return cache;
+    }
+
+    /**
+     * Labels measured with one font render context and maximum label lines.
+     */
+    private static final class LabelCache {
+        private final FontRenderContext fontRenderContext;
+        private final int maximumLines;
+        private final ConcurrentHashMap<Comparable<?>, CachedLabel> labels = new ConcurrentHashMap<>();
+
+        private LabelCache(final FontRenderContext fontRenderContext, final int maximumLines) {
+            this.fontRenderContext = fontRenderContext;
+            this.maximumLines = maximumLines;
+        }
+    }
+
+    /**
+     * The single line width of a category label and, once it is drawn, its text block.
+     */
+    private static final class CachedLabel {
+        private final Font font;
+        private final double lineWidth;
+        private final double lineHeight;
+        private final Paint paint;
+        private final float blockWrapWidth;
+        private final RectangleEdge edge;
+        private final TextBlock block;
+        private final double blockWidth;
+        private final double blockHeight;
+
+        private CachedLabel(final Font font, final double lineWidth, final double lineHeight) {
+            this.font = font;
+            this.lineWidth = lineWidth;
+            this.lineHeight = lineHeight;
+            this.paint = null;
+            this.blockWrapWidth = Float.NaN;
+            this.edge = null;
+            this.block = null;
+            this.blockWidth = Double.NaN;
+            this.blockHeight = Double.NaN;
+        }
+
+        private CachedLabel(final CachedLabel line, final Paint paint, final float blockWrapWidth, final RectangleEdge edge,
+                            final TextBlock block, final double blockWidth, final double blockHeight) {
+            this.font = line.font;
+            this.lineWidth = line.lineWidth;
+            this.lineHeight = line.lineHeight;
+            this.paint = paint;
+            this.blockWrapWidth = blockWrapWidth;
+            this.edge = edge;
+            this.block = block;
+            this.blockWidth = blockWidth;
+            this.blockHeight = blockHeight;
+        }
+
+        /**
+         * Gets whether the text block is the one wrapped to {@code wrapWidth}. A label narrower than both wrap widths
+         * isn't wrapped, so its block matches any such width; this keeps blocks cached when the axis is laid out in
+         * the plot area and then drawn in the slightly smaller data area.
+         */
+        private boolean hasBlock(final float wrapWidth, final RectangleEdge edge, final Paint paint) {
+            if (block == null || this.edge != edge || !this.paint.equals(paint)) {
+                return false;
+            }
+            //a pixel of tolerance, since blocks are measured with the graphics device rather than the cached metrics
+            return blockWrapWidth == wrapWidth || lineWidth + 1.0D <= Math.min(blockWrapWidth, wrapWidth);
+        }
+    }
+
+    /**
+     * Tick of a labeled category, which knows where its category is when not every category has a tick.
+     */
+    private static final class IndexedCategoryTick extends CategoryTick {
+        private static final long serialVersionUID = -2274961573108496311L;
+
+        private final int index;
+        private final int count;
+
+        private IndexedCategoryTick(final Comparable<?> category, final TextBlock label, final CategoryLabelPosition position,
+                                    final int index, final int count) {
+            super(category, label, position.getLabelAnchor(), position.getRotationAnchor(), position.getAngle());
+            this.index = index;
+            this.count = count;
+        }
+    }
+}
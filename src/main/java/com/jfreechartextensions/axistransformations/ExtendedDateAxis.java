@@ -0,0 +1,426 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.chart.axis.NumberTick;
+import org.jfree.chart.axis.TickType;
+import org.jfree.chart.event.AxisChangeEvent;
+import org.jfree.data.Range;
+import org.jfree.ui.RectangleEdge;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Date axis which supports {@link BasicAxisTransform}s, for example {@link SessionGapAxisTransform} to hide nights and weekends.
+ *
+ * Values are epoch milliseconds, as for {@link org.jfree.chart.axis.DateAxis}. Ticks fall on calendar boundaries in the
+ * axis time zone: whole seconds, minutes, hours, days, Mondays, months or years. The step is the smallest one whose labels
+ * fit, and the ticks are generated from the precomputed offset and month tables of {@link CalendarTable} rather than with
+ * {@link java.util.Calendar} arithmetic. Labels which would still overlap, for example around gaps, are dropped and
+ * their ticks drawn as minor ticks. With custom major ticks, the ticks of {@link ExtendedNumberAxis} are used.
+ */
+public class ExtendedDateAxis extends ExtendedNumberAxis {
+
+    private static final long serialVersionUID = 6416407812437917504L;
+
+    private static final long SECOND = 1000L;
+    private static final long MINUTE = 60 * SECOND;
+    private static final long HOUR = 60 * MINUTE;
+    private static final long DAY = CalendarTable.MILLIS_PER_DAY;
+    /**
+     * Epoch day 4, 5 January 1970, is a Monday.
+     */
+    private static final long FIRST_MONDAY = 4 * DAY;
+    private static final long AVERAGE_MONTH = 2_629_746_000L;
+    /**
+     * Ticks are only generated within about 270,000 years of 1970, as for {@link java.util.Date}.
+     */
+    private static final double MAX_MILLIS = 8.64E15;
+    private static final int MAX_CACHED_LABELS = 1024;
+
+    /**
+     * Tick steps, ascending.
+     */
+    private static final TickStep[] STEPS = {
+            TickStep.fixed(SECOND, 0, "HH:mm:ss"), TickStep.fixed(5 * SECOND, 0, "HH:mm:ss"), TickStep.fixed(10 * SECOND, 0, "HH:mm:ss"),
+            TickStep.fixed(15 * SECOND, 0, "HH:mm:ss"), TickStep.fixed(30 * SECOND, 0, "HH:mm:ss"),
+            TickStep.fixed(MINUTE, 0, "HH:mm"), TickStep.fixed(2 * MINUTE, 0, "HH:mm"), TickStep.fixed(5 * MINUTE, 0, "HH:mm"),
+            TickStep.fixed(10 * MINUTE, 0, "HH:mm"), TickStep.fixed(15 * MINUTE, 0, "HH:mm"), TickStep.fixed(30 * MINUTE, 0, "HH:mm"),
+            TickStep.fixed(HOUR, 0, "HH:mm"), TickStep.fixed(2 * HOUR, 0, "HH:mm"), TickStep.fixed(3 * HOUR, 0, "HH:mm"),
+            TickStep.fixed(6 * HOUR, 0, "HH:mm"), TickStep.fixed(12 * HOUR, 0, "d-MMM HH:mm"),
+            TickStep.fixed(DAY, 0, "d-MMM"), TickStep.fixed(2 * DAY, 0, "d-MMM"), TickStep.fixed(7 * DAY, FIRST_MONDAY, "d-MMM"),
+            TickStep.months(1, "MMM-yyyy"), TickStep.months(3, "MMM-yyyy"), TickStep.months(6, "MMM-yyyy"),
+            TickStep.months(12, "yyyy"), TickStep.months(24, "yyyy"), TickStep.months(60, "yyyy"), TickStep.months(120, "yyyy"),
+            TickStep.months(240, "yyyy"), TickStep.months(600, "yyyy"), TickStep.months(1200, "yyyy"), TickStep.months(6000, "yyyy"),
+            TickStep.months(12000, "yyyy")};
+
+    private ZoneId timeZone = ZoneId.systemDefault();
+    private Locale locale = Locale.getDefault();
+    /**
+     * Pattern the override was built from, which is serialized in place of the override; null if there is no override
+     * or it was set as a formatter.
+     */
+    private String dateFormatPattern;
+    private transient DateTimeFormatter dateFormatOverride;
+    private transient volatile Formats formats;
+
+    public ExtendedDateAxis() {
+        this(null);
+    }
+
+    /**
+     * @param transform transform, or null for a linear time axis
+     */
+    public ExtendedDateAxis(final BasicAxisTransform transform) {
+        super(transform == null ? new AffineAxisTransform(1.0D, 0.0D) : transform);
+    }
+
+    @Override
+    protected BasicAxisTransform newNullAxisTransform() {
+        return new AffineAxisTransform(1.0D, 0.0D);
+    }
+
+    /**
+     * @return the time zone of tick boundaries and labels
+     */
+    public ZoneId getTimeZone() {
+        return timeZone;
+    }
+
+    /**
+     * Sets the time zone of tick boundaries and labels, and sends an {@link AxisChangeEvent} to all registered listeners.
+     *
+     * @param timeZone the time zone
+     */
+    public void setTimeZone(final ZoneId timeZone) {
+        if (timeZone == null) {
+            throw new IllegalArgumentException("Null 'timeZone' argument.");
+        }
+        this.timeZone = timeZone;
+        invalidateTickCache();
+        fireChangeEvent();
+    }
+
+    /**
+     * @return the locale of tick labels
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Sets the locale of tick labels, and sends an {@link AxisChangeEvent} to all registered listeners.
+     *
+     * @param locale the locale
+     */
+    public void setLocale(final Locale locale) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Null 'locale' argument.");
+        }
+        this.locale = locale;
+        if (dateFormatPattern != null) {
+            this.dateFormatOverride = DateTimeFormatter.ofPattern(dateFormatPattern, locale);
+        }
+        invalidateTickCache();
+        fireChangeEvent();
+    }
+
+    /**
+     * @return the format used for all tick labels, or null if the format depends on the tick step
+     */
+    public DateTimeFormatter getDateFormatOverride() {
+        return dateFormatOverride;
+    }
+
+    /**
+     * Sets a format for all tick labels, and sends an {@link AxisChangeEvent} to all registered listeners.
+     * {@link DateTimeFormatter} is not serializable, so the format is not kept when the axis is serialized;
+     * use {@link #setDateFormatPattern(String)} for a format which is.
+     *
+     * @param formatter the format, or null to choose it from the tick step
+     */
+    public void setDateFormatOverride(final DateTimeFormatter formatter) {
+        this.dateFormatPattern = null;
+        this.dateFormatOverride = formatter;
+        invalidateTickCache();
+        fireChangeEvent();
+    }
+
+    /**
+     * @return the pattern of the format used for all tick labels, or null if it wasn't set with {@link #setDateFormatPattern(String)}
+     */
+    public String getDateFormatPattern() {
+        return dateFormatPattern;
+    }
+
+    /**
+     * Sets a format for all tick labels from a {@link DateTimeFormatter} pattern in the axis locale, and sends an
+     * {@link AxisChangeEvent} to all registered listeners. Unlike a formatter, the pattern is kept when the axis is serialized.
+     *
+     * @param pattern the pattern, or null to choose the format from the tick step
+     * @throws IllegalArgumentException if {@code pattern} is invalid
+     */
+    public void setDateFormatPattern(final String pattern) {
+        this.dateFormatOverride = pattern == null ? null : DateTimeFormatter.ofPattern(pattern, locale);
+        this.dateFormatPattern = pattern;
+        invalidateTickCache();
+        fireChangeEvent();
+    }
+
+    @Override
+    protected java.util.List<NumberTick> computeTicks(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
+        final Range range = getRange();
+        final double lower = Math.max(range.getLowerBound(), -MAX_MILLIS);
+        final double upper = Math.min(range.getUpperBound(), MAX_MILLIS);
+        if (getMajorTicks() != null || !(lower < upper)) {
+            return super.computeTicks(g2, dataArea, edge);
+        }
+
+        final Formats formats = getFormats();
+        final CalendarTable table = CalendarTable.forZone(timeZone);
+        final boolean horizontal = RectangleEdge.isTopOrBottom(edge);
+        final double axisLength = Math.max(0.0D, horizontal ? dataArea.getWidth() : dataArea.getHeight());
+        final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext());
+        final long localLower = table.toLocal((long) Math.floor(lower));
+        final long localUpper = table.toLocal((long) Math.ceil(upper));
+
+        //the smallest step whose labels fit, assuming its ticks are spread evenly over the range; labels are at least
+        //as wide as they are high, so steps closer than that are skipped without formatting labels
+        final double pixelsPerMilli = axisLength / (upper - lower);
+        final double minExtent = isTickLabelsVisible() ? Math.max(MIN_TICK_SPACING, metrics.getHeight()) : MIN_TICK_SPACING;
+        int major = STEPS.length - 1;
+        for (int i = 0; i < STEPS.length - 1; ++i) {
+            if (STEPS[i].nominal * pixelsPerMilli >= minExtent && STEPS[i].nominal * pixelsPerMilli >= labelExtent(metrics, horizontal, table, localLower, localUpper, formats, i)) {
+                major = i;
+                break;
+            }
+        }
+
+        double[] majors = STEPS[major].ticks(table, localLower, localUpper);
+        boolean[] majorOk = new boolean[majors.length];
+        okToPlotTicks(majors, majors.length, majorOk);
+
+        //a non-linear transform, such as session gaps, can leave fewer ticks visible than the estimate, so smaller steps may fit
+        if (!(getTransform() instanceof AffineAxisTransform)) {
+            while (major > 0 && STEPS[major - 1].nominal * pixelsPerMilli >= MIN_TICK_SPACING) {
+                final double[] candidates = STEPS[major - 1].ticks(table, localLower, localUpper);
+                final boolean[] candidatesOk = new boolean[candidates.length];
+                okToPlotTicks(candidates, candidates.length, candidatesOk);
+                int visible = 0;
+                for (final boolean ok : candidatesOk) {
+                    visible += ok ? 1 : 0;
+                }
+                if (visible > 1 && axisLength / visible < labelExtent(metrics, horizontal, table, localLower, localUpper, formats, major - 1)) {
+                    break;
+                }
+                --major;
+                majors = candidates;
+                majorOk = candidatesOk;
+            }
+        }
+
+        final double labelExtent = labelExtent(metrics, horizontal, table, localLower, localUpper, formats, major);
+        final int minor = major > 0 && STEPS[major - 1].nominal * pixelsPerMilli >= MIN_TICK_SPACING ? major - 1 : -1;
+        final double[] minors = minor < 0 ? new double[0] : STEPS[minor].ticks(table, localLower, localUpper);
+        final boolean[] minorOk = new boolean[minors.length];
+        okToPlotTicks(minors, minors.length, minorOk);
+
+        //drop labels closer than their extent to the previous label, which happens where a transform squeezes time
+        final double[] positions = new double[majors.length];
+        valuesToJava2D(majors, 0, positions, 0, majors.length, dataArea, edge);
+        final boolean[] labeled = new boolean[majors.length];
+        double lastLabel = Double.NaN;
+        for (int i = 0; i < majors.length; ++i) {
+            if (majorOk[i] && !(Math.abs(positions[i] - lastLabel) < labelExtent)) {
+                labeled[i] = true;
+                lastLabel = positions[i];
+            }
+        }
+
+        final ArrayList<NumberTick> result = new ArrayList<>(majors.length + minors.length);
+        int j = 0;
+        for (int i = 0; i <= majors.length; ++i) {
+            final double next = i < majors.length ? majors[i] : Double.POSITIVE_INFINITY;
+            for (; j < minors.length && minors[j] <= next; ++j) {
+                if (minorOk[j] && minors[j] != next) {
+                    result.add(createTick(TickType.MINOR, edge, minors[j], ""));
+                }
+            }
+            if (i < majors.length && majorOk[i]) {
+                if (labeled[i]) {
+                    result.add(createTick(TickType.MAJOR, edge, majors[i], isTickLabelVisible(majors[i], true) ? formats.format(major, majors[i]) : ""));
+                } else {
+                    result.add(createTick(TickType.MINOR, edge, majors[i], ""));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the extent along the axis of the labels of a tick step, measured on the ticks at or before the range bounds,
+     * so that the same labels are measured, and found in the label cache, while panning.
+     *
+     * @return the extent, at least {@link #MIN_TICK_SPACING}
+     */
+    private double labelExtent(final TickLabelMetrics metrics, final boolean horizontal, final CalendarTable table, final long localLower,
+                               final long localUpper, final Formats formats, final int step) {
+        if (!isTickLabelsVisible()) {
+            return MIN_TICK_SPACING;
+        }
+        final TickStep tickStep = STEPS[step];
+        return Math.max(MIN_TICK_SPACING, estimateTickLabelExtent(metrics, horizontal, tickStep.floor(table, localLower), tickStep.floor(table, localUpper),
+                value -> formats.format(step, value)));
+    }
+
+    private void readObject(final ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        if (dateFormatPattern != null) {
+            this.dateFormatOverride = DateTimeFormatter.ofPattern(dateFormatPattern, locale);
+        }
+    }
+
+    /**
+     * @return the label formats of the tick steps, for the current time zone, locale and override
+     */
+    private Formats getFormats() {
+        final Formats current = this.formats;
+        if (current != null && current.timeZone.equals(timeZone) && current.locale.equals(locale) && current.override == dateFormatOverride) {
+            return current;
+        }
+        final Formats update = new Formats(timeZone, locale, dateFormatOverride);
+        this.formats = update;
+        return update;
+    }
+
+    /**
+     * Label formats of the tick steps, built when first used, and the labels they formatted.
+     */
+    private static final class Formats {
+        private final ZoneId timeZone;
+        private final Locale locale;
+        private final DateTimeFormatter override;
+        private final DateTimeFormatter[] formats = new DateTimeFormatter[STEPS.length];
+        private final ConcurrentHashMap<Long, String> labels = new ConcurrentHashMap<>();
+
+        private Formats(final ZoneId timeZone, final Locale locale, final DateTimeFormatter override) {
+            this.timeZone = timeZone;
+            this.locale = locale;
+            this.override = override;
+        }
+
+        private DateTimeFormatter get(final int step) {
+            DateTimeFormatter result = formats[step];
+            if (result == null) {
+                //formatters are immutable, so a racing thread at worst builds the same one again
+                result = (override != null ? override : DateTimeFormatter.ofPattern(STEPS[step].pattern, locale)).withZone(timeZone);
+                formats[step] = result;
+            }
+            return result;
+        }
+
+        /**
+         * Formats a label, caching it so that labels are not formatted again while panning or zooming.
+         */
+        private String format(final int step, final double value) {
+            final long millis = (long) value;
+            //the step index only matters when the step chooses the format
+            final Long key = override != null ? millis : millis * STEPS.length + step;
+            String label = labels.get(key);
+            if (label == null) {
+                label = get(step).format(Instant.ofEpochMilli(millis));
+                if (labels.size() >= MAX_CACHED_LABELS) {
+                    labels.clear();
+                }
+                labels.put(key, label);
+            }
+            return label;
+        }
+    }
+
+    /**
+     * Distance between ticks: a fixed number of local milliseconds, or a number of months.
+     */
+    private static final class TickStep {
+        private final long millis;
+        private final long origin;
+        private final int months;
+        /**
+         * Approximate length of the step in milliseconds.
+         */
+        private final double nominal;
+        private final String pattern;
+
+        private TickStep(final long millis, final long origin, final int months, final double nominal, final String pattern) {
+            this.millis = millis;
+            this.origin = origin;
+            this.months = months;
+            this.nominal = nominal;
+            this.pattern = pattern;
+        }
+
+        /**
+         * @param origin a local time on which ticks fall
+         */
+        private static TickStep fixed(final long millis, final long origin, final String pattern) {
+            return new TickStep(millis, origin, 0, millis, pattern);
+        }
+
+        private static TickStep months(final int months, final String pattern) {
+            return new TickStep(0, 0, months, months * (double) AVERAGE_MONTH, pattern);
+        }
+
+        /**
+         * @return epoch milliseconds of the last tick at or before a local time
+         */
+        private double floor(final CalendarTable table, final long local) {
+            if (months == 0) {
+                return table.toInstant(origin + Math.floorDiv(local - origin, millis) * millis);
+            }
+            final long month = CalendarTable.getMonthIndex(Math.floorDiv(local, DAY));
+            return table.toInstant(CalendarTable.getMonthStartDay(Math.floorDiv(month, months) * months) * DAY);
+        }
+
+        /**
+         * Generates the ticks between two local times.
+         *
+         * @return epoch milliseconds of the ticks, ascending and without duplicates
+         */
+        private double[] ticks(final CalendarTable table, final long localLower, final long localUpper) {
+            final long first;
+            final long count;
+            if (months == 0) {
+                first = Math.floorDiv(localLower - origin + millis - 1, millis);
+                count = Math.floorDiv(localUpper - origin, millis) - first + 1;
+            } else {
+                final long firstDay = Math.floorDiv(localLower + DAY - 1, DAY);
+                long firstMonth = CalendarTable.getMonthIndex(firstDay);
+                if (CalendarTable.getMonthStartDay(firstMonth) < firstDay) {
+                    ++firstMonth;
+                }
+                first = Math.floorDiv(firstMonth + months - 1, months);
+                count = Math.floorDiv(CalendarTable.getMonthIndex(Math.floorDiv(localUpper, DAY)), months) - first + 1;
+            }
+
+            final double[] result = new double[(int) Math.max(0, count)];
+            int n = 0;
+            for (long i = first; i < first + count; ++i) {
+                final long local = months == 0 ? origin + i * millis : CalendarTable.getMonthStartDay(i * months) * DAY;
+                final double instant = table.toInstant(local);
+                //local times repeated or skipped by daylight saving can give the same instant twice
+                if (n == 0 || instant > result[n - 1]) {
+                    result[n++] = instant;
+                }
+            }
+            return n == result.length ? result : Arrays.copyOf(result, n);
+        }
+    }
+}
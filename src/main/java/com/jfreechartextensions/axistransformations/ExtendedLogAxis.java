@@ -0,0 +1,229 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.chart.axis.NumberTick;
+import org.jfree.chart.axis.TickType;
+import org.jfree.data.Range;
+import org.jfree.ui.RectangleEdge;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+
+/**
+ * Logarithmic axis with ticks at powers of ten.
+ *
+ * Major ticks are placed at whole decades and minor ticks at 2..9 times each decade, directly from the
+ * logarithms of the range bounds, so no tick unit is selected. When the decade labels don't fit, only every
+ * 2nd, 5th, 10th... decade is labeled and the others become minor ticks. Decade labels are cached, so refreshing
+ * ticks while panning or zooming formats each label once.
+ *
+ * The axis uses {@link Log10AxisTransform} by default and also accepts {@link LogAxisTransform}. With any other
+ * transform, custom major ticks, or a range narrower than a decade, the ticks of {@link ExtendedNumberAxis} are used.
+ */
+public class ExtendedLogAxis extends ExtendedNumberAxis {
+
+    private static final long serialVersionUID = -5270117683015497234L;
+
+    /**
+     * Exponents of the decades which have ticks; 10^decade is zero below them and infinite above.
+     */
+    private static final int MIN_DECADE = -324;
+    private static final int MAX_DECADE = 308;
+    /**
+     * Decades whose labels are written out in full; the others use scientific notation.
+     */
+    private static final int MIN_PLAIN_DECADE = -4;
+    private static final int MAX_PLAIN_DECADE = 6;
+    /**
+     * The narrowest gap between the minor ticks of a decade, 9 to 10, in decades.
+     */
+    private static final double MIN_MINOR_TICK_GAP = Math.log10(10.0D / 9.0D);
+    /**
+     * 10^decade for each decade from {@link #MIN_DECADE}, parsed so that each is the closest double.
+     */
+    private static final double[] POWERS_OF_TEN = new double[MAX_DECADE - MIN_DECADE + 1];
+
+    static {
+        for (int i = 0; i < POWERS_OF_TEN.length; ++i) {
+            POWERS_OF_TEN[i] = Double.parseDouble("1E" + (MIN_DECADE + i));
+        }
+    }
+
+    private transient volatile DecadeLabels decadeLabels;
+
+    public ExtendedLogAxis() {
+        super(new Log10AxisTransform());
+    }
+
+    @Override
+    protected BasicAxisTransform newNullAxisTransform() {
+        return new Log10AxisTransform();
+    }
+
+    @Override
+    protected java.util.List<NumberTick> computeTicks(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
+        final BasicAxisTransform transform = getTransform();
+        final Range range = getRange();
+        final double lower = range.getLowerBound();
+        final double upper = range.getUpperBound();
+        if (!(transform instanceof Log10AxisTransform || transform instanceof LogAxisTransform) || getMajorTicks() != null
+                || !(upper > 0) || Double.isInfinite(upper)) {
+            return super.computeTicks(g2, dataArea, edge);
+        }
+
+        final double logLower = Math.log10(lower > 0 ? lower : Double.MIN_VALUE);
+        final double logUpper = Math.log10(upper);
+        final double decades = logUpper - logLower;
+        if (decades < 1) {
+            return super.computeTicks(g2, dataArea, edge);
+        }
+
+        final int firstDecade = Math.max(MIN_DECADE, (int) Math.floor(logLower));
+        final int lastDecade = Math.min(MAX_DECADE, (int) Math.ceil(logUpper));
+        final double axisLength = RectangleEdge.isTopOrBottom(edge) ? dataArea.getWidth() : dataArea.getHeight();
+        final double decadeLength = Math.max(0.0D, axisLength) / decades;
+
+        //label every stride-th decade, counting from decade 0 so that the same decades are labeled while panning
+        double labelExtent = MIN_TICK_SPACING;
+        if (isTickLabelsVisible()) {
+            final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext());
+            final int widest = getWidestLabelDecade(metrics, firstDecade, lastDecade);
+            labelExtent = Math.max(labelExtent, estimateTickLabelExtent(metrics, RectangleEdge.isTopOrBottom(edge),
+                    widest, widest, decade -> getDecadeLabel((int) decade)));
+        }
+        final int stride = decadeLength >= labelExtent ? 1 : roundUpStride(Math.ceil(labelExtent / decadeLength));
+        final boolean decadeMinors = stride > 1 && decadeLength >= MIN_TICK_SPACING;
+        final boolean multipleMinors = stride == 1 && decadeLength * MIN_MINOR_TICK_GAP >= MIN_TICK_SPACING;
+
+        final int ticksPerDecade = multipleMinors ? 9 : 1;
+        final int nTicks = (lastDecade - firstDecade + 1) * ticksPerDecade;
+        final double[] values = new double[nTicks];
+        //decade of each major tick, or Integer.MIN_VALUE for minor ticks
+        final int[] majorDecades = new int[nTicks];
+        int n = 0;
+        for (int decade = firstDecade; decade <= lastDecade; ++decade) {
+            final double power = POWERS_OF_TEN[decade - MIN_DECADE];
+            final boolean labeled = Math.floorMod(decade, stride) == 0;
+            if (labeled || decadeMinors) {
+                values[n] = power;
+                majorDecades[n++] = labeled ? decade : Integer.MIN_VALUE;
+            }
+            if (multipleMinors && decade < lastDecade) {
+                for (int multiple = 2; multiple <= 9; ++multiple) {
+                    values[n] = multiple * power;
+                    majorDecades[n++] = Integer.MIN_VALUE;
+                }
+            }
+        }
+
+        final boolean[] ok = new boolean[n];
+        okToPlotTicks(values, n, ok);
+
+        final ArrayList<NumberTick> result = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            if (!ok[i]) {
+                continue;
+            }
+            if (majorDecades[i] != Integer.MIN_VALUE) {
+                final String label = isTickLabelVisible(values[i], true) ? getDecadeLabel(majorDecades[i]) : "";
+                result.add(createTick(TickType.MAJOR, edge, values[i], label));
+            } else {
+                result.add(createTick(TickType.MINOR, edge, values[i], ""));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the decade with the widest label. Without an override, labels are widest at either end of the range or of the
+     * decades written out in full, so only those are measured; with an override, every decade in the range is.
+     *
+     * @param metrics     tick label font metrics
+     * @param firstDecade first decade in the range
+     * @param lastDecade  last decade in the range
+     * @return the decade with the widest label
+     */
+    private int getWidestLabelDecade(final TickLabelMetrics metrics, final int firstDecade, final int lastDecade) {
+        final int[] candidates;
+        if (getNumberFormatOverride() != null) {
+            candidates = new int[lastDecade - firstDecade + 1];
+            for (int i = 0; i < candidates.length; ++i) {
+                candidates[i] = firstDecade + i;
+            }
+        } else {
+            candidates = new int[]{firstDecade, lastDecade,
+                    Math.max(firstDecade, Math.min(lastDecade, MIN_PLAIN_DECADE)),
+                    Math.max(firstDecade, Math.min(lastDecade, MAX_PLAIN_DECADE))};
+        }
+
+        int result = firstDecade;
+        double width = -1.0D;
+        for (final int decade : candidates) {
+            final double w = metrics.getWidth(getDecadeLabel(decade));
+            if (w > width) {
+                result = decade;
+                width = w;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sets the number format override, and discards the cached decade labels even if {@code formatter} is the current override.
+     *
+     * @param formatter the number format, or null
+     */
+    @Override
+    public void setNumberFormatOverride(final NumberFormat formatter) {
+        this.decadeLabels = null;
+        super.setNumberFormatOverride(formatter);
+    }
+
+    /**
+     * Gets the label of a decade, formatted with the number format override if there is one.
+     * Labels are cached until the override is set again.
+     *
+     * @param decade exponent of the decade, from {@link #MIN_DECADE} to {@link #MAX_DECADE}
+     * @return the label of 10^decade
+     */
+    private String getDecadeLabel(final int decade) {
+        final NumberFormat override = getNumberFormatOverride();
+        DecadeLabels labels = this.decadeLabels;
+        if (labels == null || labels.format != override) {
+            labels = new DecadeLabels(override);
+            this.decadeLabels = labels;
+        }
+
+        String label = labels.labels[decade - MIN_DECADE];
+        if (label == null) {
+            label = formatDecade(decade, override);
+            //labels are immutable, so a racing thread at worst formats the same label again
+            labels.labels[decade - MIN_DECADE] = label;
+        }
+        return label;
+    }
+
+    private String formatDecade(final int decade, final NumberFormat override) {
+        if (override != null) {
+            return formatWithOverride(POWERS_OF_TEN[decade - MIN_DECADE], override);
+        }
+        if (decade >= MIN_PLAIN_DECADE && decade <= MAX_PLAIN_DECADE) {
+            return BigDecimal.ONE.scaleByPowerOfTen(decade).toPlainString();
+        }
+        return "1E" + decade;
+    }
+
+    /**
+     * Decade labels formatted with one number format override.
+     */
+    private static final class DecadeLabels {
+        private final NumberFormat format;
+        private final String[] labels = new String[MAX_DECADE - MIN_DECADE + 1];
+
+        private DecadeLabels(final NumberFormat format) {
+            this.format = format;
+        }
+    }
+}
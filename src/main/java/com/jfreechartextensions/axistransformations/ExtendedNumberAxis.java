@@ -6,25 +6,81 @@ import org.jfree.chart.plot.ValueAxisPlot;
 import org.jfree.data.Range;
 import org.jfree.data.RangeType;
 import org.jfree.ui.RectangleEdge;
+import org.jfree.ui.RectangleInsets;
 import org.jfree.ui.TextAnchor;
 
 import java.awt.*;
+import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 import java.text.NumberFormat;
 import java.util.*;
-import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.DoubleFunction;
+import java.util.function.ToDoubleFunction;
 
 public abstract class ExtendedNumberAxis extends NumberAxis {
 
     private static final long serialVersionUID = 3021139144251111579L;
     private BasicAxisTransform transform;
     private double[] majorTicks;
-    private Range dataRange;
-    private final Object dataRangeLock = new Object();
+    private transient volatile DataRangeSnapshot dataRange;
+    private final AtomicLong dataRangeVersion = new AtomicLong();
     private double tickAngle = Double.NaN;
     private double minRange = Double.NaN;
     private double maxRange = Double.NaN;
+    private transient volatile Range effectiveRange;
+    private transient volatile AxisSnapshot snapshot;
+    private transient volatile CachedTicks[] cachedTicks;
+    private transient volatile SelectedTickUnit selectedTickUnit;
+    private transient volatile TickLabelFormatter labelFormatter;
     protected static final double SMALLEST_DOUBLE = 1E-11;
+    static final int BULK_CHUNK_SIZE = 1024;
+    /**
+     * Space reservation and drawing refresh ticks for different areas, so a couple of layouts are kept.
+     */
+    private static final int TICK_CACHE_SIZE = 4;
+    /**
+     * Bound on the steps through the tick unit source when selecting a tick unit.
+     */
+    private static final int MAX_TICK_UNIT_STEPS = 64;
+    /**
+     * Smallest pixel distance between drawn ticks. Denser ticks are thinned.
+     */
+    static final double MIN_TICK_SPACING = 2.0D;
+    /**
+     * Tick label angles are split into sectors at 60, 120, 180, 240 and 300 degrees; each sector has one label anchor per edge.
+     */
+    private static final double[] TICK_ANGLE_SECTOR_BOUNDS = {Math.PI / 3, 2 * Math.PI / 3, Math.PI, 4 * Math.PI / 3, 5 * Math.PI / 3};
+    private static final TextAnchor[] TOP_TICK_LABEL_ANCHORS = {TextAnchor.BOTTOM_CENTER, TextAnchor.CENTER_RIGHT, TextAnchor.TOP_CENTER,
+            TextAnchor.BOTTOM_CENTER, TextAnchor.CENTER_LEFT, TextAnchor.BOTTOM_CENTER};
+    private static final TextAnchor[] BOTTOM_TICK_LABEL_ANCHORS = {TextAnchor.TOP_CENTER, TextAnchor.CENTER_LEFT, TextAnchor.BOTTOM_CENTER,
+            TextAnchor.BOTTOM_CENTER, TextAnchor.CENTER_RIGHT, TextAnchor.TOP_CENTER};
+    private static final TextAnchor[] LEFT_TICK_LABEL_ANCHORS = {TextAnchor.CENTER_RIGHT, TextAnchor.TOP_CENTER, TextAnchor.CENTER_LEFT,
+            TextAnchor.CENTER_LEFT, TextAnchor.BOTTOM_CENTER, TextAnchor.CENTER_RIGHT};
+    private static final TextAnchor[] RIGHT_TICK_LABEL_ANCHORS = {TextAnchor.CENTER_LEFT, TextAnchor.BOTTOM_CENTER, TextAnchor.CENTER_RIGHT,
+            TextAnchor.CENTER_RIGHT, TextAnchor.TOP_CENTER, TextAnchor.CENTER_LEFT};
+    /**
+     * Whether an axis class overrides a hook which tick lists depend on, so that they can't be cached.
+     */
+    private static final ClassValue<Boolean> TICK_HOOKS_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return overrides(type, "isTickLabelVisible", double.class, boolean.class)
+                    || overrides(type, "createTick", TickType.class, RectangleEdge.class, double.class, String.class)
+                    || overrides(type, "formatLabel", double.class)
+                    || overrides(type, "okToPlotTick", double.class);
+        }
+    };
+    private static final ClassValue<Boolean> OK_TO_PLOT_TICK_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            return overrides(type, "okToPlotTick", double.class);
+        }
+    };
+    private static final ThreadLocal<TickBuffer> TICK_BUFFER = ThreadLocal.withInitial(TickBuffer::new);
+    private static final AtomicReferenceFieldUpdater<ExtendedNumberAxis, DataRangeSnapshot> DATA_RANGE_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ExtendedNumberAxis.class, DataRangeSnapshot.class, "dataRange");
 
     public ExtendedNumberAxis(final BasicAxisTransform transform) {
         this.transform = transform;
@@ -40,32 +96,89 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
         return transform;
     }
 
+    /**
+     * Gets the data range of this axis. Readers never block: the range is published as an immutable snapshot
+     * and is only recomputed after {@link #invalidateDataRange()}.
+     *
+     * @return the data range, or null if the axis doesn't belong to a {@link ValueAxisPlot}
+     */
     public Range getDataRange() {
-        synchronized (dataRangeLock) {
-            if (dataRange == null) {
-                if (this.getPlot() instanceof ValueAxisPlot) {
-                    final ValueAxisPlot vap = (ValueAxisPlot) this.getPlot();
-                    dataRange = vap.getDataRange(this);
-                } else {
-                    return null;
-                }
-            }
-            return dataRange;
+        final long version = dataRangeVersion.get();
+        final DataRangeSnapshot snapshot = this.dataRange;
+        if (snapshot != null && snapshot.version >= version) {
+            return snapshot.range;
+        }
+
+        if (this.getPlot() instanceof ValueAxisPlot) {
+            final ValueAxisPlot vap = (ValueAxisPlot) this.getPlot();
+            final Range range = vap.getDataRange(this);
+            publishDataRange(range, version);
+            return range;
+        } else {
+            return null;
         }
     }
 
+    /**
+     * Marks the data range as stale, so that the next call to {@link #getDataRange()} recomputes it.
+     */
+    public void invalidateDataRange() {
+        dataRangeVersion.incrementAndGet();
+    }
+
+    /**
+     * Publishes a data range computed for {@code version}, unless a range for a later version has already been published.
+     *
+     * @param range   data range
+     * @param version data range version the range was computed for
+     */
+    private void publishDataRange(final Range range, final long version) {
+        final DataRangeSnapshot update = new DataRangeSnapshot(range, version);
+        DataRangeSnapshot current;
+        do {
+            current = this.dataRange;
+            if (current != null && current.version > version) {
+                return;
+            }
+        } while (!DATA_RANGE_UPDATER.compareAndSet(this, current, update));
+    }
+
+    @Override
+    public void configure() {
+        invalidateDataRange();
+        super.configure();
+    }
+
+    /**
+     * @return the custom major tick locations, sorted and without duplicates, or null if ticks are generated from the tick unit
+     */
     protected double[] getMajorTicks() {
         return majorTicks;
     }
 
+    /**
+     * Sets custom major tick locations. The axis keeps its own sorted copy without duplicates or NaNs,
+     * so only the ticks around the visible range are looked at when refreshing ticks.
+     *
+     * @param tickLocations major tick locations, or null to generate ticks from the tick unit
+     */
     public void setMajorTicks(final double[] tickLocations) {
         if (tickLocations == null || tickLocations.length == 0) {
             this.majorTicks = null;
             return;
         }
 
-        this.majorTicks = tickLocations.clone();
-        Arrays.sort(tickLocations);
+        final double[] sorted = tickLocations.clone();
+        Arrays.sort(sorted);
+
+        int n = 0;
+        for (final double tickLocation : sorted) {
+            if (!Double.isNaN(tickLocation) && (n == 0 || sorted[n - 1] != tickLocation)) {
+                sorted[n++] = tickLocation;
+            }
+        }
+
+        this.majorTicks = n == 0 ? null : n == sorted.length ? sorted : Arrays.copyOf(sorted, n);
     }
 
     public void setTickLabelAngle(final double angle) {
@@ -80,30 +193,132 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
         return maxRange;
     }
 
+    /**
+     * Sets the lower bound of the axis range. To move both bounds past each other, use {@link #update()}.
+     *
+     * @param min lower bound, or NaN for none
+     */
     @Override
     public void setLowerBound(final double min) {
         if (maxRange <= min) {
             throw new IllegalArgumentException("Lower bound=" + min + " can't be greater than upper bound=" + maxRange);
         }
         this.minRange = min;
+        this.effectiveRange = null;
         if (!Double.isNaN(minRange) && !Double.isNaN(maxRange)) {
             this.setRange(new Range(minRange, maxRange));
         }
     }
 
+    /**
+     * Sets the upper bound of the axis range. To move both bounds past each other, use {@link #update()}.
+     *
+     * @param max upper bound, or NaN for none
+     */
     @Override
     public void setUpperBound(final double max) {
         if (minRange >= max) {
             throw new IllegalArgumentException("Upper bound=" + max + " can't be smaller than lower bound=" + minRange);
         }
         this.maxRange = max;
+        this.effectiveRange = null;
         if (!Double.isNaN(minRange) && !Double.isNaN(maxRange)) {
             this.setRange(new Range(minRange, maxRange));
         }
     }
 
+    @Override
+    public void setRange(final Range range, final boolean turnOffAutoRange, final boolean notify) {
+        //cleared before the change event so that listeners see the new range, and after it for concurrent readers
+        this.effectiveRange = null;
+        super.setRange(range, turnOffAutoRange, notify);
+        this.effectiveRange = null;
+    }
+
+    /**
+     * Starts a set of changes to this axis which are validated together and sent to listeners as a single
+     * {@link org.jfree.chart.event.AxisChangeEvent} by {@link Update#apply()}, instead of one event and chart redraw per
+     * setter. Bounds set together are only checked against each other, so moving them from [0, 10] to [20, 30] doesn't
+     * fail on the lower bound.
+     *
+     * @return an update which changes nothing until applied
+     */
+    public Update update() {
+        return new Update();
+    }
+
+    /**
+     * Gets the axis range, adjusted so that it contains the lower or upper bound set on this axis.
+     * The result is cached until the range or bounds change, so it is cheap to call for every point or tick.
+     *
+     * @return the effective axis range
+     */
     @Override
     public Range getRange() {
+        Range result = this.effectiveRange;
+        if (result == null) {
+            result = computeEffectiveRange();
+            this.effectiveRange = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the lower bound of the effective axis range
+     * @see #getRange()
+     */
+    public double getEffectiveLower() {
+        return getRange().getLowerBound();
+    }
+
+    /**
+     * @return the upper bound of the effective axis range
+     * @see #getRange()
+     */
+    public double getEffectiveUpper() {
+        return getRange().getUpperBound();
+    }
+
+    /**
+     * Gets the parts of the axis range where data can be visible: the visible intervals of the transform,
+     * clipped to the effective axis range.
+     *
+     * @return {@code {lower0, upper0, lower1, upper1, ...}} as in {@link BasicAxisTransform#getVisibleIntervals()},
+     * empty if nothing in the range is visible, or null if the transform doesn't publish its visible domain
+     */
+    public double[] getVisibleIntervals() {
+        return snapshot().getVisibleIntervals();
+    }
+
+    /**
+     * Gets an immutable view of the range, transform, inversion and custom major ticks of this axis, as they are now.
+     * The axis draws from the same snapshot, which is only replaced when its configuration changes.
+     *
+     * @return the current snapshot
+     */
+    public AxisSnapshot snapshot() {
+        final Range range = getRange();
+        final boolean inverted = super.isInverted();
+        AxisSnapshot result = this.snapshot;
+        if (result == null || !result.isFor(range, transform, inverted, majorTicks)) {
+            result = new AxisSnapshot(range, transform, inverted, majorTicks);
+            this.snapshot = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets whether the axis is drawn inverted: either it is set to inverted, or its transform reverses the range.
+     * The latter doesn't change the setting, so drawing never modifies the axis.
+     *
+     * @return whether the axis is drawn inverted
+     */
+    @Override
+    public boolean isInverted() {
+        return snapshot().isInverted();
+    }
+
+    private Range computeEffectiveRange() {
         final Range r = super.getRange();
 
         if (!Double.isNaN(minRange)) {
@@ -119,49 +334,295 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
         return r;
     }
 
+    /**
+     * Refreshes the ticks of the axis. Tick lists are cached per layout: range, data area, tick label font and the other
+     * settings they are computed from. A number format override changed in place is not noticed; set it again with
+     * {@link #setNumberFormatOverride(NumberFormat)}. Subclasses which override {@link #isTickLabelVisible(double, boolean)},
+     * {@link #createTick(TickType, RectangleEdge, double, String)}, {@link #formatLabel(double)} or {@link #okToPlotTick(double)}
+     * get fresh ticks on every refresh, since their output may depend on anything.
+     * <p>
+     * An automatically selected tick unit is not set on the axis, since the axis may be laid out for several areas at
+     * once; it is returned with the ticks, see {@link #getTickUnitOf(java.util.List)}.
+     */
     @Override
+    @SuppressWarnings("rawtypes")
     public java.util.List refreshTicks(Graphics2D g2, AxisState state, Rectangle2D dataArea, RectangleEdge edge) {
         g2.setFont(getTickLabelFont());
-        if (isAutoTickUnitSelection()) {
-            selectAutoTickUnit(g2, dataArea, edge);
+        if (TICK_HOOKS_OVERRIDDEN.get(getClass())) {
+            return computeTicks(g2, dataArea, edge);
         }
 
-        final NumberTickUnit tu = getTickUnit();
-        final double majorTickSize = majorTicks == null ? tu.getSize() : Double.NaN;
-        final double lowestMajorTickValue = majorTicks == null ? calculateLowestVisibleTickValue() : majorTicks[0];
+        final Range range = getRange();
+        final TickLayoutKey key = new TickLayoutKey(range.getLowerBound(), range.getUpperBound(), dataArea.getWidth(), dataArea.getHeight(), edge,
+                isAutoTickUnitSelection() ? null : getTickUnit(), getStandardTickUnits(), getTickLabelFont(), g2.getFontRenderContext(),
+                getTickLabelInsets(), isTickLabelsVisible(), isVerticalTickLabels(), tickAngle, getMinorTickCount(), transform, majorTicks, getNumberFormatOverride());
+
+        final CachedTicks[] cache = this.cachedTicks;
+        if (cache != null) {
+            for (final CachedTicks cached : cache) {
+                if (cached.key.equals(key)) {
+                    return cached.ticks;
+                }
+            }
+        }
 
-        final Function<Integer, Double> majorTickCalculator = majorTicks == null ?
-                i -> lowestMajorTickValue + i * majorTickSize :
-                i -> i < 0 || i >= majorTicks.length ? Double.NaN : majorTicks[i];
+        final java.util.List<NumberTick> computed = computeTicks(g2, dataArea, edge);
+        final TickList ticks = computed instanceof TickList ? (TickList) computed : new TickList(computed, null);
+        final CachedTicks[] update = new CachedTicks[cache == null ? 1 : Math.min(cache.length + 1, TICK_CACHE_SIZE)];
+        update[0] = new CachedTicks(key, ticks);
+        if (cache != null) {
+            System.arraycopy(cache, 0, update, 1, update.length - 1);
+        }
+        this.cachedTicks = update;
 
-        final int nMajorTicks = majorTicks == null ? calculateVisibleTickCount() : majorTicks.length;
-        final ArrayList<NumberTick> result = new ArrayList<>();
+        return ticks;
+    }
+
+    /**
+     * Gets the tick unit a tick list was generated with, which is where an automatically selected unit is found after
+     * drawing.
+     *
+     * @param ticks ticks returned by {@link #refreshTicks(Graphics2D, AxisState, Rectangle2D, RectangleEdge)},
+     *              for example through {@link AxisState#getTicks()}
+     * @return the tick unit, or null if the ticks were not generated from a tick unit
+     */
+    public static NumberTickUnit getTickUnitOf(final java.util.List<?> ticks) {
+        return ticks instanceof TickList ? ((TickList) ticks).getUnit() : null;
+    }
 
-        if (nMajorTicks > 500) {
-            return result;
+    /**
+     * Discards the tick lists cached by {@link #refreshTicks(Graphics2D, AxisState, Rectangle2D, RectangleEdge)}.
+     * Subclasses whose {@link #computeTicks(Graphics2D, Rectangle2D, RectangleEdge)} depends on settings of their own
+     * must call this when those settings change.
+     */
+    protected void invalidateTickCache() {
+        this.cachedTicks = null;
+    }
+
+    /**
+     * Sets the number format override, and discards the cached tick lists and labels even if {@code formatter} is the
+     * current override, so that an override changed in place can be applied by setting it again.
+     *
+     * @param formatter the number format, or null
+     */
+    @Override
+    public void setNumberFormatOverride(final NumberFormat formatter) {
+        invalidateTickCache();
+        final TickLabelFormatter labelFormatter = this.labelFormatter;
+        if (labelFormatter != null) {
+            labelFormatter.clear();
         }
+        super.setNumberFormatOverride(formatter);
+    }
 
-        final int nMinorTicks = getMinorTickCount() <= 0 ? tu.getMinorTickCount() : getMinorTickCount();
+    /**
+     * @return whether {@code type} overrides {@code name} with the given parameter types, below ExtendedNumberAxis
+     */
+    private static boolean overrides(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != ExtendedNumberAxis.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException e) {
+                //not declared here, look further up
+            }
+        }
+        return false;
+    }
 
-        addMinorTicks(result, nMinorTicks, majorTickCalculator.apply(-1), majorTickCalculator.apply(0), edge);
+    /**
+     * Computes the ticks for the current range, in ascending order. The result is cached by
+     * {@link #refreshTicks(Graphics2D, AxisState, Rectangle2D, RectangleEdge)}, and carries the tick unit it was
+     * generated with. Subclasses with their own tick layout override this.
+     *
+     * @param g2       the graphics device
+     * @param dataArea the area for plotting the data
+     * @param edge     the axis location
+     * @return the ticks
+     */
+    protected java.util.List<NumberTick> computeTicks(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
+        //ticks are computed from a local unit, since another thread may be laying out the axis for another area
+        NumberTickUnit tu = isAutoTickUnitSelection() ? autoTickUnit(g2, dataArea, edge) : null;
+        if (tu == null) {
+            tu = getTickUnit();
+        }
 
-        for (int i = 0; i < nMajorTicks; ++i) {
-            final double majorTickValue = majorTickCalculator.apply(i);
-            final String tickLabel = formatLabel(majorTickValue);
+        final TickBuffer buffer = TICK_BUFFER.get();
+        buffer.unit = tu;
+        try {
+            return new TickList(computeTicks(g2, dataArea, edge, tu, snapshot(), buffer), tu);
+        } finally {
+            buffer.unit = null;
+        }
+    }
 
-            if (okToPlotTick(majorTickValue)) {
-                result.add(createTick(TickType.MAJOR, edge, majorTickValue, isTickLabelVisible(majorTickValue, true) ? tickLabel : ""));
+    private java.util.List<NumberTick> computeTicks(final Graphics2D g2, final Rectangle2D dataArea, final RectangleEdge edge, final NumberTickUnit tu,
+                                                    final AxisSnapshot snapshot, final TickBuffer buffer) {
+        final Range range = snapshot.getRange();
+        final double[] majorTicks = snapshot.majorTicks();
+
+        //custom ticks in the range, plus one on each side so that the minor ticks leading into the range are generated
+        int firstMajorTick = 0;
+        int lowerIndex = 0;
+        int upperIndex = 0;
+        int nMajorTicks;
+        if (majorTicks == null) {
+            nMajorTicks = (int) (Math.floor(range.getUpperBound() / tu.getSize()) - Math.ceil(range.getLowerBound() / tu.getSize()) + 1);
+        } else {
+            lowerIndex = ceilingIndex(majorTicks, range.getLowerBound());
+            upperIndex = ceilingIndex(majorTicks, range.getUpperBound());
+            if (upperIndex < majorTicks.length && majorTicks[upperIndex] == range.getUpperBound()) {
+                ++upperIndex;
             }
+            firstMajorTick = Math.max(0, lowerIndex - 1);
+            nMajorTicks = Math.min(majorTicks.length, upperIndex + 1) - firstMajorTick;
+        }
+        final ArrayList<NumberTick> result = new ArrayList<>();
+
+        //when there are more major ticks than fit on the axis, only every stride-th one is kept
+        final double axisLength = RectangleEdge.isTopOrBottom(edge) ? dataArea.getWidth() : dataArea.getHeight();
+        final int maxMajorTicks = calculateMaxMajorTickCount(g2, axisLength, tu, edge);
+        final int stride = nMajorTicks > maxMajorTicks ? roundUpStride(Math.ceil((double) nMajorTicks / maxMajorTicks)) : 1;
 
-            final double nextMajorTickValue = majorTickCalculator.apply(i + 1);
-            addMinorTicks(result, nMinorTicks, majorTickValue, nextMajorTickValue, edge);
+        final int nMinorTicks = getMinorTickCount() <= 0 ? tu.getMinorTickCount() : getMinorTickCount();
+        final int minorTicksPerMajor;
+        final double firstKeptTick;
+        if (stride == 1) {
+            minorTicksPerMajor = Math.max(0, nMinorTicks - 1);
+            firstKeptTick = 0.0D;
+        } else {
+            //the dropped major ticks become minor ticks, if they are far enough apart
+            minorTicksPerMajor = axisLength / nMajorTicks >= MIN_TICK_SPACING ? stride - 1 : 0;
+            final double lastKeptTick;
+            if (majorTicks == null) {
+                firstKeptTick = Math.ceil(Math.ceil(range.getLowerBound() / tu.getSize()) / stride) * stride;
+                lastKeptTick = Math.floor(Math.floor(range.getUpperBound() / tu.getSize()) / stride) * stride;
+            } else {
+                firstKeptTick = Math.ceil((double) lowerIndex / stride) * stride;
+                lastKeptTick = Math.floor((upperIndex - 1.0D) / stride) * stride;
+            }
+            nMajorTicks = lastKeptTick < firstKeptTick ? 0 : (int) ((lastKeptTick - firstKeptTick) / stride) + 1;
+        }
+
+        //the buffer holds the major ticks, padded with the ticks before the first and after the last one,
+        //followed by the minor ticks of each of the nMajorTicks + 1 intervals between them
+        final int nBounds = nMajorTicks + 2;
+        final int nTicks = nBounds + (nBounds - 1) * minorTicksPerMajor;
+        buffer.ensureCapacity(nTicks);
+        final double[] values = buffer.values;
+        final boolean[] ok = buffer.ok;
+
+        if (stride > 1) {
+            //kept ticks are the ones whose index in the unthinned sequence is a multiple of the stride,
+            //so the same ticks are kept while panning
+            int minorTick = nBounds;
+            for (int i = 0; i < nBounds; ++i) {
+                final double index = firstKeptTick + (i - 1) * (double) stride;
+                values[i] = majorTickAt(majorTicks, index, tu);
+                if (i < nBounds - 1) {
+                    for (int j = 1; j <= minorTicksPerMajor; ++j) {
+                        values[minorTick++] = majorTickAt(majorTicks, index + j, tu);
+                    }
+                }
+            }
+        } else {
+            if (majorTicks == null) {
+                final double majorTickSize = tu.getSize();
+                final double lowestMajorTickValue = Math.ceil(range.getLowerBound() / tu.getSize()) * tu.getSize();
+                for (int i = 0; i < nBounds; ++i) {
+                    values[i] = lowestMajorTickValue + (i - 1) * majorTickSize;
+                }
+            } else {
+                values[0] = Double.NaN;
+                System.arraycopy(majorTicks, firstMajorTick, values, 1, nMajorTicks);
+                values[nBounds - 1] = Double.NaN;
+            }
+
+            int minorTick = nBounds;
+            for (int i = 0; i < nBounds - 1; ++i) {
+                final double dx = (values[i + 1] - values[i]) / nMinorTicks;
+                for (int j = 1; j < nMinorTicks; ++j) {
+                    values[minorTick++] = values[i] + j * dx;
+                }
+            }
         }
 
-        addMinorTicks(result, nMinorTicks, majorTickCalculator.apply(nMajorTicks - 1), majorTickCalculator.apply(nMajorTicks), edge);
+        okToPlotTicks(values, nTicks, ok);
+
+        addMinorTicks(result, values, ok, nBounds, minorTicksPerMajor, edge);
+        for (int i = 1; i <= nMajorTicks; ++i) {
+            final double majorTickValue = values[i];
+            if (ok[i]) {
+                result.add(createTick(TickType.MAJOR, edge, majorTickValue, isTickLabelVisible(majorTickValue, true) ? formatLabel(majorTickValue) : ""));
+            }
+
+            addMinorTicks(result, values, ok, nBounds + i * minorTicksPerMajor, minorTicksPerMajor, edge);
+        }
 
         return result;
     }
 
+    /**
+     * Gets the number of major ticks which fit on the axis, so that neither the ticks nor their labels overlap.
+     *
+     * @param g2         the graphics device
+     * @param axisLength length of the axis in pixels
+     * @param unit       the tick unit
+     * @param edge       the axis location
+     * @return the largest number of major ticks to draw
+     */
+    private int calculateMaxMajorTickCount(final Graphics2D g2, final double axisLength, final TickUnit unit, final RectangleEdge edge) {
+        double spacing = MIN_TICK_SPACING;
+        if (isTickLabelsVisible()) {
+            final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext());
+            spacing = Math.max(spacing, estimateTickLabelExtent(metrics, unit, RectangleEdge.isTopOrBottom(edge)));
+        }
+        return (int) Math.min(Integer.MAX_VALUE - 1, Math.max(0.0D, axisLength) / spacing) + 1;
+    }
+
+    /**
+     * Rounds a stride up to 1, 2 or 5 times a power of ten, so that thinned generated ticks stay round numbers.
+     */
+    static int roundUpStride(final double stride) {
+        final double magnitude = Math.pow(10, Math.floor(Math.log10(stride)));
+        double result = 10 * magnitude;
+        if (magnitude >= stride) {
+            result = magnitude;
+        } else if (2 * magnitude >= stride) {
+            result = 2 * magnitude;
+        } else if (5 * magnitude >= stride) {
+            result = 5 * magnitude;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, result);
+    }
+
+    /**
+     * Gets a major tick by its index in the unthinned sequence: the custom tick at that index, or the multiple of the tick unit.
+     *
+     * @return the tick value, or NaN if there is no custom tick at {@code index}
+     */
+    private static double majorTickAt(final double[] majorTicks, final double index, final TickUnit unit) {
+        if (majorTicks == null) {
+            return index * unit.getSize();
+        }
+        return index >= 0 && index < majorTicks.length ? majorTicks[(int) index] : Double.NaN;
+    }
+
+    /**
+     * @return index of the first value in {@code sorted} which is at least {@code value}
+     */
+    private static int ceilingIndex(final double[] sorted, final double value) {
+        final int index = Arrays.binarySearch(sorted, value);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private void addMinorTicks(final Collection<NumberTick> result, final double[] values, final boolean[] ok, final int from, final int count, final RectangleEdge edge) {
+        for (int i = from; i < from + count; ++i) {
+            if (ok[i]) {
+                result.add(createTick(TickType.MINOR, edge, values[i], ""));
+            }
+        }
+    }
 
     /**
      * Checks whether the tickLabel is valid to show.
@@ -174,218 +635,350 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
         return isMajor;
     }
 
+    /**
+     * Selects the smallest standard tick unit whose labels don't overlap at either end of the range, in a single search,
+     * and sets it. The result is cached for the range and data area, so repeated layouts don't measure labels again.
+     * Drawing doesn't call this; it selects the unit without setting it.
+     */
     @Override
     protected void selectAutoTickUnit(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
-        Set<NumberTickUnit> units = new HashSet<>();//prevent looping
-        for (int i = 0; i < 3; ++i) {
-            NumberTickUnit size1 = this.getTickUnit();
-            this.selectAutoTickUnitAux(g2, dataArea, edge);
-            units.add(this.getTickUnit());
-            if (units.contains(size1)) {
-                if (units.size() > 1) {
-                    units.remove(size1);
-                    final NumberTickUnit size2 = units.iterator().next();
-                    setTickUnit(size1.getSize() > size2.getSize() ? size1 : size2, false, false);
-                }
-                return;
-            }
+        final NumberTickUnit unit = autoTickUnit(g2, dataArea, edge);
+        if (unit != null) {
+            setTickUnit(unit, false, false);
         }
     }
 
-    private void selectAutoTickUnitAux(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
-        if (RectangleEdge.isTopOrBottom(edge)) {
-            this.selectHorizontalAutoTickUnit(g2, dataArea, edge);
-        } else if (RectangleEdge.isLeftOrRight(edge)) {
-            this.selectVerticalAutoTickUnit(g2, dataArea, edge);
+    /**
+     * Selects a tick unit as {@link #selectAutoTickUnit(Graphics2D, Rectangle2D, RectangleEdge)}, without setting it.
+     *
+     * @return the selected tick unit, or null if the edge is not a side of the data area
+     */
+    private NumberTickUnit autoTickUnit(final Graphics2D g2, final Rectangle2D dataArea, final RectangleEdge edge) {
+        final Range range = getRange();
+        final TickLayoutKey key = new TickLayoutKey(range.getLowerBound(), range.getUpperBound(), dataArea.getWidth(), dataArea.getHeight(), edge,
+                null, getStandardTickUnits(), getTickLabelFont(), g2.getFontRenderContext(), getTickLabelInsets(),
+                isTickLabelsVisible(), isVerticalTickLabels(), tickAngle, 0, transform, null, getNumberFormatOverride());
+
+        final SelectedTickUnit selected = this.selectedTickUnit;
+        if (selected != null && selected.key.equals(key)) {
+            return selected.tickUnit;
         }
+        if (!RectangleEdge.isTopOrBottom(edge) && !RectangleEdge.isLeftOrRight(edge)) {
+            return null;
+        }
+
+        final boolean horizontal = RectangleEdge.isTopOrBottom(edge);
+        final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext());
+        final NumberTickUnit unit = selectTickUnit(u -> estimateTickLabelExtent(metrics, u, horizontal), dataArea, edge);
+        this.selectedTickUnit = new SelectedTickUnit(key, unit);
+        return unit;
     }
 
     @Override
     protected void selectVerticalAutoTickUnit(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
-        double tickLabelHeight = this.estimateMaximumTickLabelHeight(g2);
-        TickUnitSource tickUnits = this.getStandardTickUnits();
-        TickUnit unit1 = tickUnits.getCeilingTickUnit(this.getTickUnit());
+        final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext());
+        this.setTickUnit(selectTickUnit(unit -> estimateTickLabelExtent(metrics, unit, false), dataArea, edge), false, false);
+    }
 
-        final Range range = getRange();
+    @Override
+    protected void selectHorizontalAutoTickUnit(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
+        final TickLabelMetrics metrics = TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext());
+        this.setTickUnit(selectTickUnit(unit -> estimateTickLabelExtent(metrics, unit, true), dataArea, edge), false, false);
+    }
 
-        //Smallest tick distance could be at either end
-        final double unitHeightUpper = Math.abs(this.lengthToJava2D(range.getUpperBound(), dataArea, edge) - this.lengthToJava2D(range.getUpperBound() - unit1.getSize(), dataArea, edge));
-        final double unitHeightLower = Math.abs(this.lengthToJava2D(range.getLowerBound(), dataArea, edge) - this.lengthToJava2D(range.getLowerBound() + unit1.getSize(), dataArea, edge));
-        double unitHeight = Math.min(unitHeightLower, unitHeightUpper);
+    @Override
+    protected double estimateMaximumTickLabelHeight(Graphics2D g2) {
+        return estimateTickLabelExtent(TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext()), getTickUnit(), false);
+    }
 
-        double guess = unit1.getSize();
-        if (unitHeight > 0.0D) {
-            guess = tickLabelHeight / unitHeight * unit1.getSize();
-        }
+    @Override
+    protected double estimateMaximumTickLabelWidth(Graphics2D g2, TickUnit unit) {
+        return estimateTickLabelExtent(TickLabelMetrics.getInstance(getTickLabelFont(), g2.getFontRenderContext()), unit, true);
+    }
 
-        NumberTickUnit unit2 = (NumberTickUnit) tickUnits.getCeilingTickUnit(guess);
+    /**
+     * Estimates the extent of the tick labels along the axis, assuming the specified tick unit is used.
+     * Like {@link NumberAxis}, only the labels of the range bounds are measured. Labels rotated with
+     * {@link #setTickLabelAngle(double)} or {@link #setVerticalTickLabels(boolean)} are measured by their rotated bounding box.
+     *
+     * @param metrics    tick label font metrics
+     * @param unit       the tick unit to use for calculation.
+     * @param horizontal whether the axis is horizontal
+     * @return the estimated maximum extent of the tick labels, including insets
+     */
+    private double estimateTickLabelExtent(final TickLabelMetrics metrics, final TickUnit unit, final boolean horizontal) {
+        final Range range = getRange();
+        return estimateTickLabelExtent(metrics, horizontal, range.getLowerBound(), range.getUpperBound(), value -> formatLabel(value, unit));
+    }
 
-        final double unit2HeightUpper = Math.abs(this.lengthToJava2D(range.getUpperBound(), dataArea, edge) - this.lengthToJava2D(range.getUpperBound() - unit2.getSize(), dataArea, edge));
-        final double unit2HeightLower = Math.abs(this.lengthToJava2D(range.getLowerBound(), dataArea, edge) - this.lengthToJava2D(range.getLowerBound() + unit2.getSize(), dataArea, edge));
-        final double unit2Height = Math.min(unit2HeightLower, unit2HeightUpper);
+    /**
+     * Estimates the extent of the tick labels along the axis from the wider of the labels of two tick values.
+     * The labels are only formatted if their width matters.
+     *
+     * @param metrics    tick label font metrics
+     * @param horizontal whether the axis is horizontal
+     * @param first      a tick value
+     * @param second     another tick value
+     * @param labels     formats the label of a tick value
+     * @return the estimated maximum extent of the tick labels, including insets
+     */
+    double estimateTickLabelExtent(final TickLabelMetrics metrics, final boolean horizontal, final double first, final double second,
+                                   final DoubleFunction<String> labels) {
+        final RectangleInsets insets = getTickLabelInsets();
+        final double angle = !Double.isNaN(tickAngle) ? tickAngle : isVerticalTickLabels() && horizontal ? Math.PI / 2 : 0.0D;
+
+        //unrotated vertical axis labels are stacked, so only their height matters
+        double width = 0.0D;
+        if (angle != 0.0D || horizontal) {
+            width = Math.max(metrics.getWidth(labels.apply(first)), metrics.getWidth(labels.apply(second)));
+        }
 
-        tickLabelHeight = this.estimateMaximumTickLabelHeight(g2);
+        final double extent = TickLabelMetrics.getRotatedExtent(width, metrics.getHeight(), angle, horizontal);
+        return extent + (horizontal ? insets.getLeft() + insets.getRight() : insets.getTop() + insets.getBottom());
+    }
 
-        if (tickLabelHeight > unit2Height) {
-            unit2 = (NumberTickUnit) tickUnits.getLargerTickUnit(unit2);
+    /**
+     * Finds the smallest standard tick unit whose tick spacing is at least as large as its labels.
+     * <p>
+     * The first candidate comes from the local pixel density at the denser end of the range, which is exact for linear
+     * transforms. For non-linear transforms the candidate is then moved up or down the tick unit source until it is the
+     * smallest one that fits, which usually takes no more than a couple of steps.
+     *
+     * @param labelExtent estimated label extent along the axis for a tick unit, in pixels
+     * @param dataArea    the area for plotting the data.
+     * @param edge        the axis location.
+     * @return the selected tick unit
+     */
+    private NumberTickUnit selectTickUnit(final ToDoubleFunction<TickUnit> labelExtent, final Rectangle2D dataArea, final RectangleEdge edge) {
+        final TickUnitSource tickUnits = this.getStandardTickUnits();
+        final AxisSnapshot snapshot = snapshot();
+        final AxisProjection projection = snapshot.getProjection(dataArea, edge);
+        final Range range = snapshot.getRange();
+        final double lower = range.getLowerBound();
+        final double upper = range.getUpperBound();
+
+        final TickUnit current = tickUnits.getCeilingTickUnit(this.getTickUnit());
+        double spacing = tickSpacing(current.getSize(), lower, upper, projection);
+        if (Math.abs(spacing) < SMALLEST_DOUBLE) {
+            spacing = SMALLEST_DOUBLE;
+        }
+        TickUnit unit = tickUnits.getCeilingTickUnit(labelExtent.applyAsDouble(current) / spacing * current.getSize());
+
+        if (fits(unit, labelExtent, lower, upper, projection)) {
+            //try halving the unit until it no longer fits; the answer is then between the two candidates
+            for (int i = 0; i < MAX_TICK_UNIT_STEPS; ++i) {
+                final TickUnit smaller = tickUnits.getCeilingTickUnit(unit.getSize() / 2);
+                if (smaller.getSize() >= unit.getSize()) {
+                    break;
+                }
+                if (fits(smaller, labelExtent, lower, upper, projection)) {
+                    unit = smaller;
+                } else {
+                    unit = smallestFittingUnit(tickUnits, smaller, labelExtent, lower, upper, projection);
+                    break;
+                }
+            }
+        } else {
+            unit = smallestFittingUnit(tickUnits, unit, labelExtent, lower, upper, projection);
         }
 
-        this.setTickUnit(unit2, false, false);
+        return (NumberTickUnit) unit;
     }
 
-    @Override
-    protected void selectHorizontalAutoTickUnit(Graphics2D g2, Rectangle2D dataArea, RectangleEdge edge) {
-        double tickLabelWidth = this.estimateMaximumTickLabelWidth(g2, this.getTickUnit());
-        TickUnitSource tickUnits = this.getStandardTickUnits();
-        TickUnit unit1 = tickUnits.getCeilingTickUnit(this.getTickUnit());
+    /**
+     * Walks up the tick unit source from {@code unit} until a unit fits, or the largest unit is reached.
+     */
+    private TickUnit smallestFittingUnit(final TickUnitSource tickUnits, TickUnit unit, final ToDoubleFunction<TickUnit> labelExtent,
+                                         final double lower, final double upper, final AxisProjection projection) {
+        for (int i = 0; i < MAX_TICK_UNIT_STEPS && !fits(unit, labelExtent, lower, upper, projection); ++i) {
+            final TickUnit larger = tickUnits.getLargerTickUnit(unit);
+            if (larger.getSize() <= unit.getSize()) {
+                break;
+            }
+            unit = larger;
+        }
+        return unit;
+    }
 
-        final Range range = getRange();
+    private boolean fits(final TickUnit unit, final ToDoubleFunction<TickUnit> labelExtent, final double lower, final double upper, final AxisProjection projection) {
+        return labelExtent.applyAsDouble(unit) <= tickSpacing(unit.getSize(), lower, upper, projection);
+    }
 
-        //if transform
-        final double unit1WidthUpper = Math.abs(this.lengthToJava2D(range.getUpperBound(), dataArea, edge) - this.lengthToJava2D(range.getUpperBound() - unit1.getSize(), dataArea, edge));
-        final double unit1WidthLower = Math.abs(this.lengthToJava2D(range.getLowerBound(), dataArea, edge) - this.lengthToJava2D(range.getLowerBound() + unit1.getSize(), dataArea, edge));
-        double unit1Width = Math.min(unit1WidthLower, unit1WidthUpper);
-        if (Math.abs(unit1Width) < SMALLEST_DOUBLE) {
-            unit1Width = SMALLEST_DOUBLE;
-        }
-        final double guess = tickLabelWidth / unit1Width * unit1.getSize();
-        NumberTickUnit unit2 = (NumberTickUnit) tickUnits.getCeilingTickUnit(guess);
+    /**
+     * Gets the pixel distance between ticks {@code unitSize} apart, at whichever end of the range it is smallest.
+     */
+    private double tickSpacing(final double unitSize, final double lower, final double upper, final AxisProjection projection) {
+        final double spacingUpper = Math.abs(computeValueToJava2D(upper, projection) - computeValueToJava2D(upper - unitSize, projection));
+        final double spacingLower = Math.abs(computeValueToJava2D(lower + unitSize, projection) - computeValueToJava2D(lower, projection));
+        return Math.min(spacingLower, spacingUpper);
+    }
 
-        final double unit2WidthUpper = Math.abs(this.lengthToJava2D(range.getUpperBound(), dataArea, edge) - this.lengthToJava2D(range.getUpperBound() - unit2.getSize(), dataArea, edge));
-        final double unit2WidthLower = Math.abs(this.lengthToJava2D(range.getLowerBound(), dataArea, edge) - this.lengthToJava2D(range.getLowerBound() + unit2.getSize(), dataArea, edge));
-        final double unit2Width = Math.min(unit2WidthLower, unit2WidthUpper);
+    protected NumberTick createTick(final TickType tickType, final RectangleEdge edge, final double currentTickValue, final String tickLabel) {
+        final double angle = Double.isNaN(tickAngle) ? 0.0 : tickAngle;
+        final TextAnchor anchor = tickLabelAnchor(edge, angle);
 
-        tickLabelWidth = this.estimateMaximumTickLabelWidth(g2, unit2);
-        if (tickLabelWidth > unit2Width) {
-            unit2 = (NumberTickUnit) tickUnits.getLargerTickUnit(unit2);
+        if (RectangleEdge.isTopOrBottom(edge)) {
+            return new NumberTick(currentTickValue, tickLabel, anchor, anchor, angle);
+        } else {
+            return new NumberTick(tickType, currentTickValue, tickLabel, anchor, anchor, angle);
         }
-
-        this.setTickUnit(unit2, false, false);
     }
 
-    protected void addMinorTicks(final Collection<NumberTick> result, final int nMinorTicks, final double majorTickMin, final double majorTickMax, RectangleEdge edge) {
-        final double dx = (majorTickMax - majorTickMin) / nMinorTicks;
-
-        for (int i = 1; i < nMinorTicks; ++i) {
-            final double minorTickValue = majorTickMin + i * dx;
+    /**
+     * Gets the text and rotation anchor for tick labels, so that labels rotated by {@code angle} point away from the axis.
+     *
+     * @param edge  the axis location.
+     * @param angle tick label angle in radians
+     * @return the tick label anchor
+     */
+    private static TextAnchor tickLabelAnchor(final RectangleEdge edge, final double angle) {
+        int sector = 0;
+        while (sector < TICK_ANGLE_SECTOR_BOUNDS.length && angle >= TICK_ANGLE_SECTOR_BOUNDS[sector]) {
+            ++sector;
+        }
 
-            if (okToPlotTick(minorTickValue)) {
-                result.add(createTick(TickType.MINOR, edge, minorTickValue, ""));
-            }
+        if (edge == RectangleEdge.TOP) {
+            return TOP_TICK_LABEL_ANCHORS[sector];
+        } else if (RectangleEdge.isTopOrBottom(edge)) {
+            return BOTTOM_TICK_LABEL_ANCHORS[sector];
+        } else if (edge == RectangleEdge.LEFT) {
+            return LEFT_TICK_LABEL_ANCHORS[sector];
+        } else {
+            return RIGHT_TICK_LABEL_ANCHORS[sector];
         }
     }
 
-    protected NumberTick createTick(final TickType tickType, final RectangleEdge edge, final double currentTickValue, final String tickLabel) {
-        final boolean isHorizontal = RectangleEdge.isTopOrBottom(edge);
-
-        if (isHorizontal) {
-            double angle = Double.isNaN(tickAngle) ? 0.0 : tickAngle;
-            TextAnchor anchor;
-            TextAnchor rotationAnchor;
-            if (edge == RectangleEdge.TOP) {
-                if (angle < Math.PI / 3) {
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                } else if (angle < 2 * Math.PI / 3) {
-                    anchor = TextAnchor.CENTER_RIGHT;
-                    rotationAnchor = TextAnchor.CENTER_RIGHT;
-                } else if (angle < Math.PI) {
-                    anchor = TextAnchor.TOP_CENTER;
-                    rotationAnchor = TextAnchor.TOP_CENTER;
-                } else if (angle < 4 * Math.PI / 3) {
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                } else if (angle < 5 * Math.PI / 3) {
-                    anchor = TextAnchor.CENTER_LEFT;
-                    rotationAnchor = TextAnchor.CENTER_LEFT;
-                } else {
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                }
-            } else {
-                if (angle < Math.PI / 3) {
-                    anchor = TextAnchor.TOP_CENTER;
-                    rotationAnchor = TextAnchor.TOP_CENTER;
-                } else if (angle < 2 * Math.PI / 3) {
-                    anchor = TextAnchor.CENTER_LEFT;
-                    rotationAnchor = TextAnchor.CENTER_LEFT;
-                } else if (angle < Math.PI) {
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                } else if (angle < 4 * Math.PI / 3) {
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                } else if (angle < 5 * Math.PI / 3) {
-                    anchor = TextAnchor.CENTER_RIGHT;
-                    rotationAnchor = TextAnchor.CENTER_RIGHT;
-                } else {
-                    anchor = TextAnchor.TOP_CENTER;
-                    rotationAnchor = TextAnchor.TOP_CENTER;
-                }
+    /**
+     * Draws the axis line, tick marks and tick labels as {@link ValueAxis} does,
+     * except that rotated tick labels are drawn from cached layouts.
+     */
+    @Override
+    protected AxisState drawTickMarksAndLabels(Graphics2D g2, double cursor, Rectangle2D plotArea, Rectangle2D dataArea, RectangleEdge edge) {
+        final AxisState state = new AxisState(cursor);
+        if (isAxisLineVisible()) {
+            drawAxisLine(g2, cursor, dataArea, edge);
+        }
+        final java.util.List<?> ticks = refreshTicks(g2, state, dataArea, edge);
+        state.setTicks(ticks);
+        g2.setFont(getTickLabelFont());
+        final Object saved = g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+        g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+
+        for (final Object o : ticks) {
+            final ValueTick tick = (ValueTick) o;
+            //as ValueAxis, ticks without text still get their tick mark
+            if (isTickLabelsVisible() && tick.getText() != null) {
+                g2.setPaint(getTickLabelPaint());
+                final float[] anchorPoint = calculateAnchorPoint(tick, cursor, dataArea, edge);
+                TickLabelLayoutCache.drawRotatedString(tick.getText(), g2, anchorPoint[0], anchorPoint[1],
+                        tick.getTextAnchor(), tick.getAngle(), tick.getRotationAnchor());
             }
 
-            return new NumberTick(currentTickValue, tickLabel, anchor, rotationAnchor, angle);
-        } else {
-            double angle = Double.isNaN(tickAngle) ? 0.0 : tickAngle;
-            TextAnchor anchor;
-            TextAnchor rotationAnchor;
-            if (edge == RectangleEdge.LEFT) {
-                if (angle < Math.PI / 3) { //60
-                    anchor = TextAnchor.CENTER_RIGHT;
-                    rotationAnchor = TextAnchor.CENTER_RIGHT;
-                } else if (angle < 2 * Math.PI / 3) { //120
-                    anchor = TextAnchor.TOP_CENTER;
-                    rotationAnchor = TextAnchor.TOP_CENTER;
-                } else if (angle < Math.PI) { //180
-                    anchor = TextAnchor.CENTER_LEFT;
-                    rotationAnchor = TextAnchor.CENTER_LEFT;
-                } else if (angle < 4 * Math.PI / 3) { //240
-                    anchor = TextAnchor.CENTER_LEFT;
-                    rotationAnchor = TextAnchor.CENTER_LEFT;
-                } else if (angle < 5 * Math.PI / 3) { //300
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                } else { //>=300
-                    anchor = TextAnchor.CENTER_RIGHT;
-                    rotationAnchor = TextAnchor.CENTER_RIGHT;
-                }
-            } else {
-                if (angle < Math.PI / 3) { //60
-                    anchor = TextAnchor.CENTER_LEFT;
-                    rotationAnchor = TextAnchor.CENTER_LEFT;
-                } else if (angle < 2 * Math.PI / 3) { //120
-                    anchor = TextAnchor.BOTTOM_CENTER;
-                    rotationAnchor = TextAnchor.BOTTOM_CENTER;
-                } else if (angle < Math.PI) { //180
-                    anchor = TextAnchor.CENTER_RIGHT;
-                    rotationAnchor = TextAnchor.CENTER_RIGHT;
-                } else if (angle < 4 * Math.PI / 3) { //240
-                    anchor = TextAnchor.CENTER_RIGHT;
-                    rotationAnchor = TextAnchor.CENTER_RIGHT;
-                } else if (angle < 5 * Math.PI / 3) { //300
-                    anchor = TextAnchor.TOP_CENTER;
-                    rotationAnchor = TextAnchor.TOP_CENTER;
-                } else { //>=300
-                    anchor = TextAnchor.CENTER_LEFT;
-                    rotationAnchor = TextAnchor.CENTER_LEFT;
+            final boolean isMinor = tick.getTickType().equals(TickType.MINOR);
+            if ((isTickMarksVisible() && !isMinor) || (isMinorTickMarksVisible() && isMinor)) {
+                final double ol = isMinor ? getMinorTickMarkOutsideLength() : getTickMarkOutsideLength();
+                final double il = isMinor ? getMinorTickMarkInsideLength() : getTickMarkInsideLength();
+                final float xx = (float) valueToJava2D(tick.getValue(), dataArea, edge);
+                Line2D mark = null;
+                g2.setStroke(getTickMarkStroke());
+                g2.setPaint(getTickMarkPaint());
+                if (edge == RectangleEdge.LEFT) {
+                    mark = new Line2D.Double(cursor - ol, xx, cursor + il, xx);
+                } else if (edge == RectangleEdge.RIGHT) {
+                    mark = new Line2D.Double(cursor + ol, xx, cursor - il, xx);
+                } else if (edge == RectangleEdge.TOP) {
+                    mark = new Line2D.Double(xx, cursor - ol, xx, cursor + il);
+                } else if (edge == RectangleEdge.BOTTOM) {
+                    mark = new Line2D.Double(xx, cursor + ol, xx, cursor - il);
                 }
+                g2.draw(mark);
             }
+        }
+        g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, saved);
 
-            return new NumberTick(tickType, currentTickValue, tickLabel, anchor, rotationAnchor, angle);
+        //work out the space used by the tick labels, so the cursor can be updated
+        if (isTickLabelsVisible()) {
+            if (edge == RectangleEdge.LEFT) {
+                state.cursorLeft(findMaximumTickLabelWidth(ticks, g2, plotArea, isVerticalTickLabels()));
+            } else if (edge == RectangleEdge.RIGHT) {
+                state.cursorRight(findMaximumTickLabelWidth(ticks, g2, plotArea, isVerticalTickLabels()));
+            } else if (edge == RectangleEdge.TOP) {
+                state.cursorUp(findMaximumTickLabelHeight(ticks, g2, plotArea, isVerticalTickLabels()));
+            } else if (edge == RectangleEdge.BOTTOM) {
+                state.cursorDown(findMaximumTickLabelHeight(ticks, g2, plotArea, isVerticalTickLabels()));
+            }
         }
+
+        return state;
     }
 
+    /**
+     * Formats a major tick label. While ticks are computed, the label is formatted with the tick unit they are computed
+     * with, which can differ from {@link #getTickUnit()} when the axis is laid out for several areas at once.
+     *
+     * @param tickValue tick value
+     * @return the label
+     */
     protected String formatLabel(final double tickValue) {
-        final NumberFormat formatter = getNumberFormatOverride();
-        return formatter == null ? getTickUnit().valueToString(tickValue) : formatter.format(tickValue);
+        final NumberTickUnit unit = TICK_BUFFER.get().unit;
+        return formatLabel(tickValue, unit != null ? unit : getTickUnit());
+    }
+
+    private String formatLabel(final double tickValue, final TickUnit unit) {
+        return getLabelFormatter().format(tickValue, unit, getNumberFormatOverride());
+    }
+
+    /**
+     * Formats a label with a number format override, using the same per-thread format clones as the tick labels.
+     *
+     * @param value    value to format
+     * @param override number format override
+     * @return the label
+     */
+    String formatWithOverride(final double value, final NumberFormat override) {
+        return getLabelFormatter().format(value, null, override);
+    }
+
+    private TickLabelFormatter getLabelFormatter() {
+        TickLabelFormatter formatter = this.labelFormatter;
+        if (formatter == null) {
+            formatter = new TickLabelFormatter();
+            this.labelFormatter = formatter;
+        }
+        return formatter;
     }
 
     protected boolean okToPlotTick(final double tickValue) {
-        return !Double.isNaN(tickValue) && contains(getRange(), tickValue) && transform.isVisible(tickValue);
+        final AxisSnapshot snapshot = snapshot();
+        final Range range = snapshot.getRange();
+        return tickValue >= range.getLowerBound() && tickValue <= range.getUpperBound() && snapshot.getTransform().isVisible(tickValue);
     }
 
-    private boolean contains(Range range, double currentTickValue) {
-        return currentTickValue >= range.getLowerBound() && currentTickValue <= range.getUpperBound();
+    /**
+     * Bulk version of {@link #okToPlotTick(double)}, used when refreshing ticks. If a subclass overrides
+     * {@link #okToPlotTick(double)}, each tick is checked with it; otherwise the ticks are checked in one pass.
+     *
+     * @param tickValues tick values to check
+     * @param length     number of tick values to check
+     * @param result     destination for whether each tick can be plotted
+     */
+    protected void okToPlotTicks(final double[] tickValues, final int length, final boolean[] result) {
+        if (OK_TO_PLOT_TICK_OVERRIDDEN.get(getClass())) {
+            for (int i = 0; i < length; ++i) {
+                result[i] = okToPlotTick(tickValues[i]);
+            }
+            return;
+        }
+
+        final AxisSnapshot snapshot = snapshot();
+        final Range range = snapshot.getRange();
+        final double lower = range.getLowerBound();
+        final double upper = range.getUpperBound();
+        snapshot.getTransform().isVisible(tickValues, 0, result, 0, length);
+
+        for (int i = 0; i < length; ++i) {
+            result[i] &= tickValues[i] >= lower && tickValues[i] <= upper;
+        }
     }
 
 
@@ -398,6 +991,7 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
                 final ValueAxisPlot vap = (ValueAxisPlot) plot;
                 Range r;
 
+                final long rangeVersion = dataRangeVersion.incrementAndGet();
                 r = vap.getDataRange(this);
                 if (r == null) {
                     r = this.getDefaultAutoRange();
@@ -422,10 +1016,7 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
                 double upper = transform.transform(r.getUpperBound());
                 double lower = transform.transform(r.getLowerBound());
 
-                //to minimize the scope of the lock
-                synchronized (dataRangeLock) {
-                    dataRange = r;
-                }
+                publishDataRange(r, rangeVersion);
 
                 if (this.getRangeType() == RangeType.POSITIVE) {
                     lower = Math.max(0.0D, lower);
@@ -499,53 +1090,44 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
 
     @Override
     public double valueToJava2D(final double value, final Rectangle2D area, final RectangleEdge edge) {
-        final Range range = this.getRange();
-        if (!transform.isVisible(value)) {
-            return Double.NaN;
-        }
-        return computeValueToJava2D(value, area, edge, range);
+        return snapshot().valueToJava2D(value, area, edge);
+    }
+
+    /**
+     * Converts {@code length} data values to coordinates in Java2D space, reading from {@code values} starting at
+     * {@code valuesPos} and writing to {@code java2DValues} starting at {@code java2DPos}.
+     * Values which are not visible are converted to {@code NaN}, as in {@link #valueToJava2D(double, Rectangle2D, RectangleEdge)}.
+     * <p>
+     * The axis range and plot area are only read once per call, so this is much cheaper than converting a series one point at a time.
+     *
+     * @param values       the data values.
+     * @param valuesPos    index of the first data value in {@code values}.
+     * @param java2DValues destination for the Java2D coordinates; may be the same array as {@code values}.
+     * @param java2DPos    index of the first coordinate in {@code java2DValues}.
+     * @param length       number of values to convert.
+     * @param area         the area for plotting the data.
+     * @param edge         the axis location.
+     */
+    public void valuesToJava2D(final double[] values, final int valuesPos, final double[] java2DValues, final int java2DPos, final int length, final Rectangle2D area, final RectangleEdge edge) {
+        snapshot().valuesToJava2D(values, valuesPos, java2DValues, java2DPos, length, area, edge);
     }
 
     @Override
     public double java2DToValue(final double java2DValue, final Rectangle2D area, final RectangleEdge edge) {
-        final Range range = this.getRange();
-        final double transformedMin = transform.transform(range.getLowerBound());
-        final double transformedMax = transform.transform(range.getUpperBound());
-        if (transformedMin > transformedMax && !this.isInverted()) {
-            this.setInverted(true);
-        }
-        double min = 0.0D;
-        double max = 0.0D;
-        if (RectangleEdge.isTopOrBottom(edge)) {
-            min = area.getX();
-            max = area.getMaxX();
-        } else if (RectangleEdge.isLeftOrRight(edge)) {
-            min = area.getMaxY();
-            max = area.getY();
-        }
-
-        double result;
-        if (this.isInverted()) {
-            result = transformedMax - (java2DValue - min) / (max - min) * (transformedMax - transformedMin);
-        } else {
-            result = transformedMin + (java2DValue - min) / (max - min) * (transformedMax - transformedMin);
-        }
-
-        return transform.inverseTransform(result);
+        return snapshot().java2DToValue(java2DValue, area, edge);
     }
 
     @Override
     public void zoomRange(double lowerPercent, double upperPercent) {
-        final Range range = this.getRange();
+        final AxisSnapshot snapshot = snapshot();
+        final BasicAxisTransform transform = snapshot.getTransform();
+        final Range range = snapshot.getRange();
         double transformedLower = transform.transform(range.getLowerBound());
         double transformedUpper = transform.transform(range.getUpperBound());
-        if (transformedLower > transformedUpper && !this.isInverted()) {
-            this.setInverted(true);
-        }
         double length = Math.abs(transformedUpper - transformedLower);
         double r0;
         double r1;
-        if (this.isInverted()) {
+        if (snapshot.isInverted()) {
             r0 = transformedLower + length * (1.0D - upperPercent);
             r1 = transformedLower + length * (1.0D - lowerPercent);
         } else {
@@ -575,48 +1157,223 @@ public abstract class ExtendedNumberAxis extends NumberAxis {
     @Override
     public double lengthToJava2D(double length, Rectangle2D area,
                                  RectangleEdge edge) {
-        final Range range = getRange();
-        double zero = valueToJava2D(0.0, area, edge);
-        zero = Double.isFinite(zero) ? zero : computeValueToJava2D(0.0, area, edge, range);
-        double l = valueToJava2D(length, area, edge);
-        l = Double.isFinite(l) ? l : computeValueToJava2D(length, area, edge, range);
+        final AxisProjection projection = snapshot().getProjection(area, edge);
+        final double zero = computeValueToJava2D(0.0, projection);
+        final double l = computeValueToJava2D(length, projection);
         return Math.abs(l - zero);
     }
 
     /**
-     * Converts a data value to a coordinate in Java2D space, assuming that the
-     * axis runs along one edge of the specified dataArea. This function handles axis transformation.
+     * Converts a data value to a coordinate in Java2D space. This function handles axis transformation;
+     * values which are not visible are projected without being transformed.
      * <p>
      * Note that it is possible for the coordinate to fall outside the plotArea.
      *
-     * @param value the data value.
-     * @param area  the area for plotting the data.
-     * @param edge  the axis location.
-     * @param range the axis range.
+     * @param value      the data value.
+     * @param projection the projection for the current layout.
      * @return The Java2D coordinate.
      * @see #java2DToValue(double, Rectangle2D, RectangleEdge)
      */
-    private double computeValueToJava2D(final double value, final Rectangle2D area, final RectangleEdge edge, final Range range) {
-        final double transformedValue = transform.isVisible(value) ? transform.transform(value) : value;
-        final double transformedMin = transform.transform(range.getLowerBound());
-        final double transformedMax = transform.transform(range.getUpperBound());
-        if (transformedMin > transformedMax && !this.isInverted()) {
-            this.setInverted(true);
+    private static double computeValueToJava2D(final double value, final AxisProjection projection) {
+        final BasicAxisTransform transform = projection.getTransform();
+        return projection.toJava2D(transform.isVisible(value) ? transform.transform(value) : value);
+    }
+
+    /**
+     * Changes to the axis applied at once: see {@link #update()}. Only the properties set on the update are changed,
+     * and an update can be applied more than once.
+     */
+    public final class Update {
+        private boolean lowerBoundSet;
+        private double lowerBound;
+        private boolean upperBoundSet;
+        private double upperBound;
+        private Range range;
+        private boolean transformSet;
+        private BasicAxisTransform transform;
+        private boolean majorTicksSet;
+        private double[] majorTicks;
+        private boolean tickLabelAngleSet;
+        private double tickLabelAngle;
+
+        private Update() {
         }
-        double min = 0.0D;
-        double max = 0.0D;
-        if (RectangleEdge.isTopOrBottom(edge)) {
-            min = area.getX();
-            max = area.getMaxX();
-        } else if (RectangleEdge.isLeftOrRight(edge)) {
-            max = area.getMinY();
-            min = area.getMaxY();
+
+        /**
+         * @param min lower bound, or NaN for none
+         * @return this update
+         * @see #setLowerBound(double)
+         */
+        public Update lowerBound(final double min) {
+            this.lowerBoundSet = true;
+            this.lowerBound = min;
+            return this;
         }
 
-        if (this.isInverted()) {
-            return max - (transformedValue - transformedMin) / (transformedMax - transformedMin) * (max - min);
-        } else {
-            return min + (transformedValue - transformedMin) / (transformedMax - transformedMin) * (max - min);
+        /**
+         * @param max upper bound, or NaN for none
+         * @return this update
+         * @see #setUpperBound(double)
+         */
+        public Update upperBound(final double max) {
+            this.upperBoundSet = true;
+            this.upperBound = max;
+            return this;
+        }
+
+        /**
+         * @param min lower bound, or NaN for none
+         * @param max upper bound, or NaN for none
+         * @return this update
+         */
+        public Update bounds(final double min, final double max) {
+            return lowerBound(min).upperBound(max);
+        }
+
+        /**
+         * Sets the axis range, turning off auto range. Bounds set on the axis still take precedence.
+         *
+         * @param range axis range
+         * @return this update
+         * @see #setRange(Range)
+         */
+        public Update range(final Range range) {
+            if (range == null) {
+                throw new IllegalArgumentException("Null range");
+            }
+            this.range = range;
+            return this;
+        }
+
+        /**
+         * @param transform axis transform, or null for the default transform of the axis
+         * @return this update
+         * @see #setTransform(BasicAxisTransform)
+         */
+        public Update transform(final BasicAxisTransform transform) {
+            this.transformSet = true;
+            this.transform = transform;
+            return this;
+        }
+
+        /**
+         * @param tickLocations major tick locations, or null to generate ticks from the tick unit
+         * @return this update
+         * @see #setMajorTicks(double[])
+         */
+        public Update majorTicks(final double[] tickLocations) {
+            this.majorTicksSet = true;
+            this.majorTicks = tickLocations == null ? null : tickLocations.clone();
+            return this;
+        }
+
+        /**
+         * @param angle tick label angle in degrees
+         * @return this update
+         * @see #setTickLabelAngle(double)
+         */
+        public Update tickLabelAngle(final double angle) {
+            this.tickLabelAngleSet = true;
+            this.tickLabelAngle = angle;
+            return this;
+        }
+
+        /**
+         * Validates the changes, applies them, and sends one change event to all registered listeners.
+         * If the changes are invalid, the axis is left unchanged.
+         *
+         * @throws IllegalArgumentException if the lower bound isn't below the upper bound, or the range is empty
+         */
+        public void apply() {
+            final double min = lowerBoundSet ? lowerBound : minRange;
+            final double max = upperBoundSet ? upperBound : maxRange;
+            if (min >= max) {
+                throw new IllegalArgumentException("Lower bound=" + min + " must be smaller than upper bound=" + max);
+            }
+            if (range != null && range.getLength() <= 0.0) {
+                throw new IllegalArgumentException("A positive range length is required: " + range);
+            }
+
+            if (transformSet) {
+                setTransform(transform);
+            }
+            if (majorTicksSet) {
+                setMajorTicks(majorTicks);
+            }
+            if (tickLabelAngleSet) {
+                setTickLabelAngle(tickLabelAngle);
+            }
+            if (range != null) {
+                setRange(range, true, false);
+            }
+            if (lowerBoundSet || upperBoundSet) {
+                minRange = min;
+                maxRange = max;
+                effectiveRange = null;
+                if (!Double.isNaN(min) && !Double.isNaN(max)) {
+                    setRange(new Range(min, max), true, false);
+                }
+            }
+            fireChangeEvent();
+        }
+    }
+
+    /**
+     * Immutable data range, tagged with the data range version it was computed for.
+     */
+    private static final class DataRangeSnapshot {
+        private final Range range;
+        private final long version;
+
+        private DataRangeSnapshot(final Range range, final long version) {
+            this.range = range;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Immutable tick list, together with the layout it was computed for.
+     */
+    private static final class CachedTicks {
+        private final TickLayoutKey key;
+        private final TickList ticks;
+
+        private CachedTicks(final TickLayoutKey key, final TickList ticks) {
+            this.key = key;
+            this.ticks = ticks;
+        }
+    }
+
+    /**
+     * Per-thread scratch space for tick generation, grown as needed.
+     */
+    private static final class TickBuffer {
+        private double[] values = new double[0];
+        private boolean[] ok = new boolean[0];
+        /**
+         * Tick unit of the ticks being computed on this thread, or null.
+         */
+        private NumberTickUnit unit;
+
+        private TickBuffer ensureCapacity(final int capacity) {
+            if (values.length < capacity) {
+                values = new double[Math.max(capacity, 2 * values.length)];
+                ok = new boolean[values.length];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Automatically selected tick unit, together with the layout it was selected for.
+     */
+    private static final class SelectedTickUnit {
+        private final TickLayoutKey key;
+        private final NumberTickUnit tickUnit;
+
+        private SelectedTickUnit(final TickLayoutKey key, final NumberTickUnit tickUnit) {
+            this.key = key;
+            this.tickUnit = tickUnit;
         }
     }
 }
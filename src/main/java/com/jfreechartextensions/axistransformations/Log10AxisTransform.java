@@ -0,0 +1,48 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * Base 10 logarithmic transform, x -> log10(x).
+ *
+ * Visible domain: x > 0. Zero, negative values and NaN are not visible.
+ */
+public final class Log10AxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = -3624786095164536925L;
+
+    @Override
+    public double transform(final double dataValue) {
+        return Math.log10(dataValue);
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return Math.pow(10.0D, axisValue);
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return dataValue > 0;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.log10(src, srcPos, dst, dstPos, length);
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.powBase(src, srcPos, dst, dstPos, length, 10.0D);
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        return BulkKernels.inInterval(src, srcPos, dst, dstPos, length, 0.0D, false, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return new double[]{0.0D, Double.POSITIVE_INFINITY};
+    }
+}
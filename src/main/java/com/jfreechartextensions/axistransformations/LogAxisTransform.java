@@ -0,0 +1,48 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * Natural logarithmic transform, x -> ln(x).
+ *
+ * Visible domain: x > 0. Zero, negative values and NaN are not visible.
+ */
+public final class LogAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = 7148305562794513106L;
+
+    @Override
+    public double transform(final double dataValue) {
+        return Math.log(dataValue);
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return Math.exp(axisValue);
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return dataValue > 0;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.log(src, srcPos, dst, dstPos, length);
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.exp(src, srcPos, dst, dstPos, length);
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        return BulkKernels.inInterval(src, srcPos, dst, dstPos, length, 0.0D, false, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return new double[]{0.0D, Double.POSITIVE_INFINITY};
+    }
+}
@@ -0,0 +1,275 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Numerical inverse of a continuous, strictly monotonic function, for transforms without a closed-form inverse.
+ * For example:
+ * <pre>{@code
+ * private final transient NumericInverse inverse = new NumericInverse(this::transform, 0, Double.POSITIVE_INFINITY);
+ *
+ * public double inverseTransform(final double axisValue) {
+ *     return inverse.applyAsDouble(axisValue);
+ * }
+ * }</pre>
+ *
+ * The root is kept bracketed and found with secant steps, falling back to bisection when a step leaves the bracket
+ * or stops shrinking it. Recent solutions are cached, so repeated and nearby queries, as when tracking the mouse or
+ * zooming, start from a tight bracket instead of searching the whole domain. Instances are thread-safe.
+ */
+public final class NumericInverse implements DoubleUnaryOperator {
+
+    private static final int CACHE_SIZE = 8;
+    private static final int MAX_ITERATIONS = 200;
+    private static final int MAX_EXPANSIONS = 128;
+    /**
+     * Points tried in turn, after the middle of the domain, until one where the function is finite is found.
+     */
+    private static final double[] START_CANDIDATES = {1.0D, -1.0D, 1e-6, -1e-6, 1e3, -1e3, 1e9, -1e9};
+
+    private final DoubleUnaryOperator forward;
+    private final double lower;
+    private final double upper;
+    private final AtomicReferenceArray<Solution> recent = new AtomicReferenceArray<>(CACHE_SIZE);
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    /**
+     * @param forward the function to invert; it must be continuous and strictly monotonic on the domain
+     * @param lower   lower bound of the domain; may be infinite
+     * @param upper   upper bound of the domain; may be infinite
+     * @throws IllegalArgumentException if {@code forward} is null or the domain is empty
+     */
+    public NumericInverse(final DoubleUnaryOperator forward, final double lower, final double upper) {
+        if (forward == null) {
+            throw new IllegalArgumentException("Function must not be null");
+        }
+        if (!(lower < upper)) {
+            throw new IllegalArgumentException("Domain must not be empty: [" + lower + ", " + upper + "]");
+        }
+
+        this.forward = forward;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Finds the point in the domain where the function takes the value {@code y}.
+     *
+     * @param y function value
+     * @return the point where the function is {@code y}, or NaN if the function doesn't reach {@code y} on the domain
+     */
+    @Override
+    public double applyAsDouble(final double y) {
+        if (Double.isNaN(y)) {
+            return Double.NaN;
+        }
+
+        //the tightest bracket around y among recent solutions, or the nearest solution to search from
+        Solution below = null;
+        Solution above = null;
+        Solution nearest = null;
+        for (int i = 0; i < CACHE_SIZE; ++i) {
+            final Solution s = recent.get(i);
+            if (s == null) {
+                continue;
+            }
+            if (s.y == y) {
+                return s.x;
+            }
+            if (s.y < y && (below == null || s.y > below.y)) {
+                below = s;
+            } else if (s.y > y && (above == null || s.y < above.y)) {
+                above = s;
+            }
+            if (nearest == null || Math.abs(s.y - y) < Math.abs(nearest.y - y)) {
+                nearest = s;
+            }
+        }
+
+        final double x;
+        if (below != null && above != null) {
+            x = solve(y, below.x, below.y, above.x, above.y);
+        } else {
+            x = search(y, nearest);
+        }
+
+        if (!Double.isNaN(x)) {
+            recent.set(Math.floorMod(nextSlot.getAndIncrement(), CACHE_SIZE), new Solution(x, y));
+        }
+        return x;
+    }
+
+    /**
+     * Brackets {@code y} by stepping away from a start point, then solves. Steps grow by a factor of 4, and once they are
+     * larger than 1 their exponent doubles, so that every double can be reached within a few dozen steps.
+     * Where the function is NaN, the domain is taken to end, and the search closes in on that point instead.
+     */
+    private double search(final double y, final Solution start) {
+        double x0 = Double.NaN;
+        double f0 = Double.NaN;
+        if (start != null) {
+            x0 = start.x;
+            f0 = start.y;
+        } else {
+            final double center = Double.isInfinite(lower) ? (Double.isInfinite(upper) ? 0.0D : upper - 1.0D) : Double.isInfinite(upper) ? lower + 1.0D : 0.5D * (lower + upper);
+            for (int i = -1; i < START_CANDIDATES.length && !isFinite(f0); ++i) {
+                final double candidate = i < 0 ? center : START_CANDIDATES[i];
+                if (candidate > lower && candidate < upper) {
+                    x0 = candidate;
+                    f0 = forward.applyAsDouble(x0);
+                }
+            }
+            if (f0 == y) {
+                return x0;
+            }
+            if (!isFinite(f0)) {
+                return Double.NaN;
+            }
+        }
+
+        //probe the slope to find out which way y lies
+        double step = Math.max(1.0D, Math.abs(x0)) * 1e-6;
+        double x1 = clamp(x0 + step);
+        double f1 = forward.applyAsDouble(x1);
+        if (!isFinite(f1) || x1 == x0) {
+            step = -step;
+            x1 = clamp(x0 + step);
+            f1 = forward.applyAsDouble(x1);
+        }
+        if (!isFinite(f1) || f1 == f0) {
+            return Double.NaN;
+        }
+        if ((f1 - y) * (f0 - y) <= 0) {
+            return solve(y, x0, f0, x1, f1);
+        }
+        final double direction = (f1 > f0) == (y > f0) ? Math.signum(step) : -Math.signum(step);
+
+        double previousX = x0;
+        double previousF = f0;
+        //the end of the domain, or the nearest point found where the function is NaN
+        double limit = direction > 0 ? upper : lower;
+        boolean limitIsNaN = false;
+        step = Math.abs(step);
+        for (int i = 0; i < MAX_EXPANSIONS; ++i) {
+            step = step <= 1 ? 4 * step : Math.min(step * step, Double.MAX_VALUE);
+            double x = x0 + direction * step;
+            if (Double.isInfinite(x)) {
+                x = direction * Double.MAX_VALUE;
+            }
+            if (direction > 0 ? x >= limit : x <= limit) {
+                x = limitIsNaN ? midpoint(previousX, limit) : limit;
+            }
+            if (x == previousX || x == limit && limitIsNaN) {
+                return Double.NaN;
+            }
+
+            final double f = forward.applyAsDouble(x);
+            if (Double.isNaN(f)) {
+                limit = x;
+                limitIsNaN = true;
+                continue;
+            }
+            if ((f - y) * (previousF - y) <= 0) {
+                return solve(y, previousX, previousF, x, f);
+            }
+            if (x == limit) {
+                return Double.NaN;
+            }
+            previousX = x;
+            previousF = f;
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Solves within a bracket, where {@code fa - y} and {@code fb - y} differ in sign.
+     */
+    private double solve(final double y, double a, final double fa, double b, final double fb) {
+        //residuals; the Illinois variant of regula falsi halves the residual of an endpoint which is kept twice in a row
+        double ra = fa - y;
+        double rb = fb - y;
+        int lastMoved = 0;
+        int slowSteps = 0;
+        for (int i = 0; i < MAX_ITERATIONS; ++i) {
+            if (ra == 0) {
+                return a;
+            }
+            if (rb == 0) {
+                return b;
+            }
+            final double width = Math.abs(b - a);
+            if (width <= 2 * Math.max(Math.ulp(a), Math.ulp(b))) {
+                return Math.abs(ra) <= Math.abs(rb) ? a : b;
+            }
+
+            double x = (a * rb - b * ra) / (rb - ra);
+            if (slowSteps >= 2 || !isFinite(x) || !(x > Math.min(a, b) && x < Math.max(a, b))) {
+                x = midpoint(a, b);
+                slowSteps = 0;
+            }
+
+            final double rx = forward.applyAsDouble(x) - y;
+            if (Double.isNaN(rx)) {
+                return Double.NaN;
+            }
+            if (rx == 0) {
+                return x;
+            }
+            if ((rx > 0) == (ra > 0)) {
+                a = x;
+                ra = rx;
+                if (lastMoved < 0) {
+                    rb *= 0.5D;
+                }
+                lastMoved = -1;
+            } else {
+                b = x;
+                rb = rx;
+                if (lastMoved > 0) {
+                    ra *= 0.5D;
+                }
+                lastMoved = 1;
+            }
+            slowSteps = Math.abs(b - a) > 0.5D * width ? slowSteps + 1 : 0;
+        }
+        return Math.abs(ra) <= Math.abs(rb) ? a : b;
+    }
+
+    /**
+     * Bisects in the exponent when the bracket spans orders of magnitude, so roots near zero are found quickly.
+     */
+    private static double midpoint(final double a, final double b) {
+        final double lo = Math.min(a, b);
+        final double hi = Math.max(a, b);
+        if (lo >= 0 && hi > 4 * lo) {
+            return lo == 0 ? hi * 0x1p-32 : Math.sqrt(lo) * Math.sqrt(hi);
+        }
+        if (hi <= 0 && lo < 4 * hi) {
+            return hi == 0 ? lo * 0x1p-32 : -Math.sqrt(-lo) * Math.sqrt(-hi);
+        }
+        return lo + 0.5D * (hi - lo);
+    }
+
+    private double clamp(final double x) {
+        return Math.max(lower, Math.min(upper, x));
+    }
+
+    private static boolean isFinite(final double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+
+    /**
+     * A point and its function value.
+     */
+    private static final class Solution {
+        private final double x;
+        private final double y;
+
+        private Solution(final double x, final double y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * Power transform, x -> x^exponent, for example a square root axis with an exponent of 0.5.
+ *
+ * Visible domain: x >= 0. Negative values and NaN are not visible.
+ */
+public final class PowerAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = 4409582870941745512L;
+
+    private final double exponent;
+    private final double inverseExponent;
+
+    /**
+     * @param exponent the exponent; must be finite and positive
+     * @throws IllegalArgumentException if {@code exponent} is not finite and positive
+     */
+    public PowerAxisTransform(final double exponent) {
+        if (!(exponent > 0) || Double.isInfinite(exponent)) {
+            throw new IllegalArgumentException("Exponent must be finite and positive: " + exponent);
+        }
+
+        this.exponent = exponent;
+        this.inverseExponent = 1.0D / exponent;
+    }
+
+    /**
+     * @return the exponent
+     */
+    public double getExponent() {
+        return exponent;
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        return BulkKernels.powNonNegative(dataValue, exponent);
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return BulkKernels.powNonNegative(axisValue, inverseExponent);
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return dataValue >= 0;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.powNonNegative(src, srcPos, dst, dstPos, length, exponent);
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        BulkKernels.powNonNegative(src, srcPos, dst, dstPos, length, inverseExponent);
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        return BulkKernels.inInterval(src, srcPos, dst, dstPos, length, 0.0D, true, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return new double[]{0.0D, Double.POSITIVE_INFINITY};
+    }
+}
@@ -0,0 +1,53 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * Reciprocal transform, x -> 1 / x. The transform is decreasing, so larger values are drawn
+ * closer to the axis origin.
+ *
+ * Visible domain: x > 0. Zero, negative values and NaN are not visible.
+ */
+public final class ReciprocalAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = 2291706263519722314L;
+
+    @Override
+    public double transform(final double dataValue) {
+        return 1.0D / dataValue;
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return 1.0D / axisValue;
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return dataValue > 0;
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = 1.0D / src[srcPos + i];
+        }
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            dst[dstPos + i] = 1.0D / src[srcPos + i];
+        }
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        return BulkKernels.inInterval(src, srcPos, dst, dstPos, length, 0.0D, false, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return new double[]{0.0D, Double.POSITIVE_INFINITY};
+    }
+}
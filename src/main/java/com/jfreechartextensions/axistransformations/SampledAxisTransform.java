@@ -0,0 +1,370 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Approximates an expensive transform, such as a calibration curve, by linear interpolation in a table of samples.
+ *
+ * {@link ExtendedNumberAxis} draws through a copy made with {@link #sampledFor(double, double, double)} for its range
+ * and length, once per layout; the transform set on the axis is left unsampled. The delegate is sampled over the range,
+ * more densely where it curves, until interpolating between samples is off by at most {@link #getMaxPixelError()} pixels.
+ * {@link #transform(double)} and {@link #inverseTransform(double)} of the copy within the range then cost a binary
+ * search and an interpolation, however slow the delegate is. Values outside the sampled range, and visibility, are
+ * passed to the delegate. Outside an axis, {@link #resample(double, double, double)} samples the transform in place.
+ *
+ * The delegate must be continuous and strictly monotonic over the range, with every point in the range visible;
+ * otherwise no table is built and every call is passed to the delegate. The same happens if the tolerance can't be met
+ * within 65,536 samples, so the table is never less accurate than {@link #getMaxPixelError()}. Tables are immutable and replaced atomically,
+ * so the transform can be used from several threads.
+ *
+ * Visible domain: that of the delegate.
+ */
+public final class SampledAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = 6301862390170953466L;
+    private static final double DEFAULT_MAX_PIXEL_ERROR = 0.25D;
+    /**
+     * Number of evenly spaced segments sampled before refining, so features narrower than the range are not missed.
+     */
+    private static final int INITIAL_SEGMENTS = 16;
+    private static final int MAX_DEPTH = 24;
+    /**
+     * Bound on the size of a table; a delegate which needs more samples is not sampled.
+     */
+    private static final int MAX_SAMPLES = 1 << 16;
+
+    private final BasicAxisTransform delegate;
+    private final double maxPixelError;
+    private transient volatile Table table;
+
+    /**
+     * Creates a transform which approximates {@code delegate} to within a quarter of a pixel.
+     *
+     * @param delegate the transform to approximate
+     */
+    public SampledAxisTransform(final BasicAxisTransform delegate) {
+        this(delegate, DEFAULT_MAX_PIXEL_ERROR);
+    }
+
+    /**
+     * @param delegate      the transform to approximate
+     * @param maxPixelError largest distance in pixels between a point projected through the table and through {@code delegate}; must be positive
+     * @throws IllegalArgumentException if {@code delegate} is null or {@code maxPixelError} is not positive
+     */
+    public SampledAxisTransform(final BasicAxisTransform delegate, final double maxPixelError) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate transform must not be null");
+        }
+        if (!(maxPixelError > 0)) {
+            throw new IllegalArgumentException("Maximum pixel error must be positive: " + maxPixelError);
+        }
+
+        this.delegate = delegate;
+        this.maxPixelError = maxPixelError;
+    }
+
+    /**
+     * @return the approximated transform
+     */
+    public BasicAxisTransform getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * @return largest distance in pixels between a point projected through the table and through the delegate
+     */
+    public double getMaxPixelError() {
+        return maxPixelError;
+    }
+
+    /**
+     * Gets a copy of this transform sampled over a range drawn across {@code pixels} pixels. This transform is not
+     * changed, and the delegate is shared rather than copied.
+     *
+     * @param lower  lower bound of the range, in dataset space
+     * @param upper  upper bound of the range, in dataset space
+     * @param pixels length of the axis in pixels
+     * @return the sampled copy, or this transform if its table was sampled for the same arguments
+     */
+    public SampledAxisTransform sampledFor(final double lower, final double upper, final double pixels) {
+        final Table current = this.table;
+        if (current != null && current.isFor(lower, upper, pixels)) {
+            return this;
+        }
+        final SampledAxisTransform result = new SampledAxisTransform(delegate, maxPixelError);
+        result.table = Table.sample(delegate, lower, upper, pixels, maxPixelError);
+        return result;
+    }
+
+    /**
+     * Samples the delegate over a range drawn across {@code pixels} pixels, in place. Does nothing if the current table
+     * was sampled for the same arguments.
+     *
+     * @param lower  lower bound of the range, in dataset space
+     * @param upper  upper bound of the range, in dataset space
+     * @param pixels length of the axis in pixels
+     */
+    public void resample(final double lower, final double upper, final double pixels) {
+        final Table current = this.table;
+        if (current != null && current.isFor(lower, upper, pixels)) {
+            return;
+        }
+        this.table = Table.sample(delegate, lower, upper, pixels, maxPixelError);
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        final Table t = this.table;
+        return t != null && t.covers(dataValue) ? t.transform(dataValue, t.floorIndex(dataValue)) : delegate.transform(dataValue);
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        final Table t = this.table;
+        return t != null && t.coversAxisValue(axisValue) ? t.inverseTransform(axisValue, t.floorAxisIndex(axisValue)) : delegate.inverseTransform(axisValue);
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return delegate.isVisible(dataValue);
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final Table t = this.table;
+        if (t == null) {
+            delegate.transform(src, srcPos, dst, dstPos, length);
+            return;
+        }
+
+        int segment = 0;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            if (t.covers(value)) {
+                segment = t.segment(t.xs, value, segment);
+                dst[dstPos + i] = t.transform(value, segment);
+            } else {
+                dst[dstPos + i] = delegate.transform(value);
+            }
+        }
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final Table t = this.table;
+        if (t == null) {
+            delegate.inverseTransform(src, srcPos, dst, dstPos, length);
+            return;
+        }
+
+        int segment = 0;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            if (t.coversAxisValue(value)) {
+                segment = t.segment(t.axisKeys, t.axisKey(value), segment);
+                dst[dstPos + i] = t.inverseTransform(value, segment);
+            } else {
+                dst[dstPos + i] = delegate.inverseTransform(value);
+            }
+        }
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        return delegate.isVisible(src, srcPos, dst, dstPos, length);
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return delegate.getVisibleIntervals();
+    }
+
+    /**
+     * Samples of the delegate over one range, ascending in dataset space.
+     */
+    private static final class Table {
+        private final double lower;
+        private final double upper;
+        private final double pixels;
+        private final double[] xs;
+        private final double[] ys;
+        /**
+         * The samples in Axis space, negated for decreasing transforms so that they ascend.
+         */
+        private final double[] axisKeys;
+        private final boolean increasing;
+
+        private Table(final double lower, final double upper, final double pixels, final double[] xs, final double[] ys, final boolean increasing) {
+            this.lower = lower;
+            this.upper = upper;
+            this.pixels = pixels;
+            this.xs = xs;
+            this.ys = ys;
+            this.increasing = increasing;
+            if (increasing) {
+                this.axisKeys = ys;
+            } else {
+                this.axisKeys = new double[ys.length];
+                for (int i = 0; i < ys.length; ++i) {
+                    axisKeys[i] = -ys[i];
+                }
+            }
+        }
+
+        /**
+         * @return the table, or null if the delegate can't be sampled over the range
+         */
+        private static Table sample(final BasicAxisTransform delegate, final double lower, final double upper,
+                                    final double pixels, final double maxPixelError) {
+            if (!(lower < upper) || !(pixels > 0) || Double.isInfinite(lower) || Double.isInfinite(upper)
+                    || !delegate.isVisible(lower) || !delegate.isVisible(upper)) {
+                return null;
+            }
+
+            final double yLower = delegate.transform(lower);
+            final double yUpper = delegate.transform(upper);
+            if (!isFinite(yLower) || !isFinite(yUpper) || yLower == yUpper) {
+                return null;
+            }
+
+            final Sampler sampler = new Sampler(delegate, yLower < yUpper, maxPixelError * Math.abs(yUpper - yLower) / pixels);
+            sampler.add(lower, yLower);
+            double x0 = lower;
+            double y0 = yLower;
+            for (int i = 1; i <= INITIAL_SEGMENTS; ++i) {
+                final double x1 = i == INITIAL_SEGMENTS ? upper : lower + (upper - lower) * i / INITIAL_SEGMENTS;
+                final double y1 = i == INITIAL_SEGMENTS ? yUpper : delegate.transform(x1);
+                if (!sampler.refine(x0, y0, x1, y1, 0)) {
+                    return null;
+                }
+                x0 = x1;
+                y0 = y1;
+            }
+
+            return new Table(lower, upper, pixels, Arrays.copyOf(sampler.xs, sampler.size), Arrays.copyOf(sampler.ys, sampler.size), yLower < yUpper);
+        }
+
+        private boolean isFor(final double lower, final double upper, final double pixels) {
+            return this.lower == lower && this.upper == upper && this.pixels == pixels;
+        }
+
+        private boolean covers(final double dataValue) {
+            return dataValue >= lower && dataValue <= upper;
+        }
+
+        private boolean coversAxisValue(final double axisValue) {
+            final double key = axisKey(axisValue);
+            return key >= axisKeys[0] && key <= axisKeys[axisKeys.length - 1];
+        }
+
+        private double axisKey(final double axisValue) {
+            return increasing ? axisValue : -axisValue;
+        }
+
+        private int floorIndex(final double dataValue) {
+            return floorIndex(xs, dataValue);
+        }
+
+        private int floorAxisIndex(final double axisValue) {
+            return floorIndex(axisKeys, axisKey(axisValue));
+        }
+
+        /**
+         * @param segment index of the sample at or before {@code dataValue}
+         */
+        private double transform(final double dataValue, final int segment) {
+            if (segment == xs.length - 1) {
+                return ys[segment];
+            }
+            final double x0 = xs[segment];
+            return ys[segment] + (dataValue - x0) * (ys[segment + 1] - ys[segment]) / (xs[segment + 1] - x0);
+        }
+
+        /**
+         * @param segment index of the sample at or before {@code axisValue} in Axis space
+         */
+        private double inverseTransform(final double axisValue, final int segment) {
+            if (segment == ys.length - 1) {
+                return xs[segment];
+            }
+            final double y0 = ys[segment];
+            return xs[segment] + (axisValue - y0) * (xs[segment + 1] - xs[segment]) / (ys[segment + 1] - y0);
+        }
+
+        /**
+         * Finds the segment of a covered value, checking the previous segment before searching.
+         */
+        private int segment(final double[] keys, final double key, final int previous) {
+            if (keys[previous] <= key && (previous == keys.length - 1 || key < keys[previous + 1])) {
+                return previous;
+            }
+            return floorIndex(keys, key);
+        }
+
+        private static int floorIndex(final double[] sorted, final double value) {
+            final int index = Arrays.binarySearch(sorted, value);
+            return Math.max(0, index >= 0 ? index : -index - 2);
+        }
+    }
+
+    /**
+     * Accumulates samples, splitting segments until linear interpolation is within tolerance.
+     */
+    private static final class Sampler {
+        private final BasicAxisTransform delegate;
+        private final boolean increasing;
+        private final double tolerance;
+        private double[] xs = new double[4 * INITIAL_SEGMENTS];
+        private double[] ys = new double[4 * INITIAL_SEGMENTS];
+        private int size;
+
+        private Sampler(final BasicAxisTransform delegate, final boolean increasing, final double tolerance) {
+            this.delegate = delegate;
+            this.increasing = increasing;
+            this.tolerance = tolerance;
+        }
+
+        /**
+         * Adds the samples after {@code x0} up to and including {@code x1}.
+         *
+         * @return false if the delegate is not visible, finite and strictly monotonic on the segment, or the table is full
+         */
+        private boolean refine(final double x0, final double y0, final double x1, final double y1, final int depth) {
+            if (!isFinite(y1) || (increasing ? !(y0 < y1) : !(y0 > y1)) || size >= MAX_SAMPLES) {
+                return false;
+            }
+
+            final double xm = 0.5D * (x0 + x1);
+            if (depth < MAX_DEPTH && xm > x0 && xm < x1) {
+                if (!delegate.isVisible(xm)) {
+                    return false;
+                }
+                final double ym = delegate.transform(xm);
+                if (Math.abs(ym - 0.5D * (y0 + y1)) > tolerance) {
+                    return refine(x0, y0, xm, ym, depth + 1) && refine(xm, ym, x1, y1, depth + 1);
+                }
+                if (!isFinite(ym) || (increasing ? !(y0 < ym && ym < y1) : !(y0 > ym && ym > y1))) {
+                    return false;
+                }
+            }
+
+            add(x1, y1);
+            return true;
+        }
+
+        private void add(final double x, final double y) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, 2 * size);
+                ys = Arrays.copyOf(ys, 2 * size);
+            }
+            xs[size] = x;
+            ys[size] = y;
+            ++size;
+        }
+    }
+
+    private static boolean isFinite(final double value) {
+        return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+}
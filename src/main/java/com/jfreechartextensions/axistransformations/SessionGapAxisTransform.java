@@ -0,0 +1,214 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Piecewise linear transform which removes the gaps between sessions, for example nights,
+ * weekends and holidays on an intraday time axis.
+ *
+ * Sessions are closed intervals [start, end] in dataset space, sorted and not overlapping.
+ * Within a session the transform is a shift by the total length of the gaps before it, so
+ * sessions are drawn back to back. Segments are found by binary search over the session table,
+ * and the bulk methods first check the segment of the previous point, so sorted series cost
+ * amortized constant time per point.
+ *
+ * Visible domain: the sessions, and everything before the first and after the last session, where
+ * the transform continues linearly. Values inside a gap are not visible and are mapped to the end
+ * of the session before the gap. The inverse maps that point back to the start of the session after the gap.
+ *
+ * Instances are immutable and can be shared between threads and axes.
+ */
+public final class SessionGapAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = -1846200493718625392L;
+
+    private final double[] sessionStarts;
+    private final double[] sessionEnds;
+    /**
+     * Start of each session in Axis space: the total length of the sessions before it.
+     */
+    private final double[] axisStarts;
+
+    /**
+     * @param sessionStarts start of each session, in ascending order
+     * @param sessionEnds   end of each session; each session must end after it starts and no later than the next session starts
+     * @throws IllegalArgumentException if the tables are empty, of different lengths, contain NaNs, or the sessions are not sorted
+     */
+    public SessionGapAxisTransform(final double[] sessionStarts, final double[] sessionEnds) {
+        if (sessionStarts == null || sessionEnds == null || sessionStarts.length == 0 || sessionStarts.length != sessionEnds.length) {
+            throw new IllegalArgumentException("Session starts and ends must be non-empty and of the same length");
+        }
+
+        this.sessionStarts = sessionStarts.clone();
+        this.sessionEnds = sessionEnds.clone();
+        this.axisStarts = new double[sessionStarts.length];
+
+        double axisStart = 0.0D;
+        for (int i = 0; i < this.sessionStarts.length; ++i) {
+            final double start = this.sessionStarts[i];
+            final double end = this.sessionEnds[i];
+            if (!(start < end)) {
+                throw new IllegalArgumentException("Session " + i + " must end after it starts: [" + start + ", " + end + "]");
+            }
+            if (i > 0 && !(this.sessionEnds[i - 1] <= start)) {
+                throw new IllegalArgumentException("Session " + i + " starts before the previous session ends: " + start);
+            }
+
+            axisStarts[i] = axisStart;
+            axisStart += end - start;
+        }
+    }
+
+    /**
+     * @return number of sessions
+     */
+    public int getSessionCount() {
+        return sessionStarts.length;
+    }
+
+    /**
+     * @param index session index
+     * @return start of the session in dataset space
+     */
+    public double getSessionStart(final int index) {
+        return sessionStarts[index];
+    }
+
+    /**
+     * @param index session index
+     * @return end of the session in dataset space
+     */
+    public double getSessionEnd(final int index) {
+        return sessionEnds[index];
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        return transform(dataValue, floorIndex(sessionStarts, dataValue));
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return inverseTransform(axisValue, floorIndex(axisStarts, axisValue));
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return isVisible(dataValue, floorIndex(sessionStarts, dataValue));
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        int segment = -1;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            segment = segment(sessionStarts, value, segment);
+            dst[dstPos + i] = transform(value, segment);
+        }
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        int segment = -1;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            segment = segment(axisStarts, value, segment);
+            dst[dstPos + i] = inverseTransform(value, segment);
+        }
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        int nVisible = 0;
+        int segment = -1;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            segment = segment(sessionStarts, value, segment);
+            final boolean visible = isVisible(value, segment);
+            dst[dstPos + i] = visible;
+            nVisible += visible ? 1 : 0;
+        }
+        return nVisible;
+    }
+
+    /**
+     * @return the sessions, with the first extended down to negative infinity and the last up to positive infinity;
+     * sessions which touch are merged
+     */
+    @Override
+    public double[] getVisibleIntervals() {
+        final int n = sessionStarts.length;
+        final double[] result = new double[2 * n];
+        int count = 0;
+        for (int i = 0; i < n; ++i) {
+            if (count > 0 && result[count - 1] == sessionStarts[i]) {
+                result[count - 1] = sessionEnds[i];
+            } else {
+                result[count++] = sessionStarts[i];
+                result[count++] = sessionEnds[i];
+            }
+        }
+        result[0] = Double.NEGATIVE_INFINITY;
+        result[count - 1] = Double.POSITIVE_INFINITY;
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    /**
+     * @param segment index of the last session starting at or before {@code dataValue}, or -1
+     */
+    private double transform(final double dataValue, final int segment) {
+        if (segment < 0) {
+            return dataValue - sessionStarts[0];
+        }
+        if (segment == sessionStarts.length - 1 || dataValue <= sessionEnds[segment]) {
+            return axisStarts[segment] + (dataValue - sessionStarts[segment]);
+        }
+        //in the gap after the session
+        return axisStarts[segment + 1];
+    }
+
+    /**
+     * @param segment index of the last session starting at or before {@code axisValue} in Axis space, or -1
+     */
+    private double inverseTransform(final double axisValue, final int segment) {
+        if (segment < 0) {
+            return sessionStarts[0] + axisValue;
+        }
+        return sessionStarts[segment] + (axisValue - axisStarts[segment]);
+    }
+
+    /**
+     * @param segment index of the last session starting at or before {@code dataValue}, or -1
+     */
+    private boolean isVisible(final double dataValue, final int segment) {
+        if (Double.isNaN(dataValue)) {
+            return false;
+        }
+        return segment < 0 || segment == sessionStarts.length - 1 || dataValue <= sessionEnds[segment];
+    }
+
+    /**
+     * Finds the segment of {@code value}, checking the previous segment and the one after it before searching.
+     */
+    private static int segment(final double[] starts, final double value, final int previous) {
+        if (previous >= 0 && starts[previous] <= value) {
+            final int next = previous + 1;
+            if (next == starts.length || value < starts[next]) {
+                return previous;
+            }
+            if (next + 1 == starts.length || value < starts[next + 1]) {
+                return next;
+            }
+        }
+        return floorIndex(starts, value);
+    }
+
+    /**
+     * @return index of the last value in {@code sorted} which is at most {@code value}, or -1 if there is none
+     */
+    private static int floorIndex(final double[] sorted, final double value) {
+        final int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -0,0 +1,80 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * Symmetric logarithmic transform, x -> sign(x) * log10(1 + |x| / linearThreshold).
+ *
+ * The transform is close to linear within {@code linearThreshold} of zero and logarithmic
+ * beyond it, so data spanning several orders of magnitude on both sides of zero can be shown
+ * on one axis.
+ *
+ * Visible domain: all values except NaN.
+ */
+public final class SymmetricLogAxisTransform implements BasicAxisTransform, Serializable {
+
+    private static final long serialVersionUID = -8136716335926874227L;
+    private static final double LN_10 = Math.log(10.0D);
+
+    private final double linearThreshold;
+
+    /**
+     * @param linearThreshold distance from zero within which the transform is approximately linear; must be finite and positive
+     * @throws IllegalArgumentException if {@code linearThreshold} is not finite and positive
+     */
+    public SymmetricLogAxisTransform(final double linearThreshold) {
+        if (!(linearThreshold > 0) || Double.isInfinite(linearThreshold)) {
+            throw new IllegalArgumentException("Linear threshold must be finite and positive: " + linearThreshold);
+        }
+
+        this.linearThreshold = linearThreshold;
+    }
+
+    /**
+     * @return distance from zero within which the transform is approximately linear
+     */
+    public double getLinearThreshold() {
+        return linearThreshold;
+    }
+
+    @Override
+    public double transform(final double dataValue) {
+        return Math.copySign(Math.log1p(Math.abs(dataValue) / linearThreshold) / LN_10, dataValue);
+    }
+
+    @Override
+    public double inverseTransform(final double axisValue) {
+        return Math.copySign(linearThreshold * Math.expm1(Math.abs(axisValue) * LN_10), axisValue);
+    }
+
+    @Override
+    public boolean isVisible(final double dataValue) {
+        return !Double.isNaN(dataValue);
+    }
+
+    @Override
+    public void transform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            dst[dstPos + i] = Math.copySign(Math.log1p(Math.abs(value) / linearThreshold) / LN_10, value);
+        }
+    }
+
+    @Override
+    public void inverseTransform(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            dst[dstPos + i] = Math.copySign(linearThreshold * Math.expm1(Math.abs(value) * LN_10), value);
+        }
+    }
+
+    @Override
+    public int isVisible(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length) {
+        return BulkKernels.inInterval(src, srcPos, dst, dstPos, length, Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY);
+    }
+
+    @Override
+    public double[] getVisibleIntervals() {
+        return new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+    }
+}
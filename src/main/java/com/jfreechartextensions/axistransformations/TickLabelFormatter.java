@@ -0,0 +1,134 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.axis.TickUnit;
+
+import java.lang.reflect.Field;
+import java.text.NumberFormat;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe, caching tick label formatting.
+ *
+ * Labels are cached per tick unit and number format, both compared by identity, so refreshing
+ * the same range doesn't format the same strings again. A number format changed in place is not
+ * noticed until {@link #clear()} is called. {@link NumberFormat} is not thread-safe, and the
+ * standard tick units share one format between several units, so each thread formats with its own
+ * clone of the override or of the format of the {@link NumberTickUnit}. Other tick units, whose
+ * format can't be cloned, format under a single lock.
+ */
+final class TickLabelFormatter {
+
+    private static final int MAX_CACHED_TABLES = 8;
+    private static final int MAX_CACHED_LABELS = 1024;
+    private static final Object UNIT_LOCK = new Object();
+    /**
+     * The format of a {@link NumberTickUnit}, which it doesn't expose, or null if it can't be read.
+     */
+    private static final Field NUMBER_TICK_UNIT_FORMAT = numberTickUnitFormat();
+
+    private volatile LabelTable[] tables = new LabelTable[0];
+
+    /**
+     * Formats a tick label.
+     *
+     * @param tickValue tick value
+     * @param unit      tick unit, used when there is no format override
+     * @param override  number format override, or null
+     * @return the label for {@code tickValue}
+     */
+    String format(final double tickValue, final TickUnit unit, final NumberFormat override) {
+        final LabelTable table = getTable(unit, override);
+        String label = table.labels.get(tickValue);
+        if (label == null) {
+            label = table.format(tickValue);
+            if (table.labels.size() >= MAX_CACHED_LABELS) {
+                table.labels.clear();
+            }
+            table.labels.put(tickValue, label);
+        }
+        return label;
+    }
+
+    /**
+     * Discards the cached labels and format clones, so that formats changed in place are applied.
+     */
+    void clear() {
+        this.tables = new LabelTable[0];
+    }
+
+    private LabelTable getTable(final TickUnit unit, final NumberFormat override) {
+        final LabelTable[] current = this.tables;
+        for (final LabelTable table : current) {
+            if (table.unit == unit && table.override == override) {
+                return table;
+            }
+        }
+
+        final LabelTable result = new LabelTable(unit, override);
+        final LabelTable[] update = new LabelTable[Math.min(current.length + 1, MAX_CACHED_TABLES)];
+        update[0] = result;
+        System.arraycopy(current, 0, update, 1, update.length - 1);
+        this.tables = update;
+        return result;
+    }
+
+    /**
+     * @return the format a tick unit formats with, if it can be cloned, otherwise null
+     */
+    private static NumberFormat getUnitFormat(final TickUnit unit) {
+        if (NUMBER_TICK_UNIT_FORMAT == null || unit == null || unit.getClass() != NumberTickUnit.class) {
+            return null;
+        }
+        try {
+            return (NumberFormat) NUMBER_TICK_UNIT_FORMAT.get(unit);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static Field numberTickUnitFormat() {
+        try {
+            final Field field = NumberTickUnit.class.getDeclaredField("formatter");
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Labels formatted with one tick unit and number format override.
+     */
+    private static final class LabelTable {
+        private final TickUnit unit;
+        private final NumberFormat override;
+        /**
+         * The format labels are formatted with, or null to format with the tick unit under {@link #UNIT_LOCK}.
+         */
+        private final NumberFormat source;
+        private final ThreadLocal<NumberFormat> clones = new ThreadLocal<>();
+        private final ConcurrentHashMap<Double, String> labels = new ConcurrentHashMap<>();
+
+        private LabelTable(final TickUnit unit, final NumberFormat override) {
+            this.unit = unit;
+            this.override = override;
+            this.source = override != null ? override : getUnitFormat(unit);
+        }
+
+        private String format(final double tickValue) {
+            if (source == null) {
+                synchronized (UNIT_LOCK) {
+                    return unit.valueToString(tickValue);
+                }
+            }
+
+            NumberFormat clone = clones.get();
+            if (clone == null) {
+                clone = (NumberFormat) source.clone();
+                clones.set(clone);
+            }
+            return clone.format(tickValue);
+        }
+    }
+}
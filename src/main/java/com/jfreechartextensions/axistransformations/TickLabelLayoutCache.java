@@ -0,0 +1,169 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.text.TextUtilities;
+import org.jfree.ui.TextAnchor;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of laid out rotated tick labels.
+ *
+ * Drawing rotated text through {@link TextUtilities#drawRotatedString(String, Graphics2D, float, float, TextAnchor, double, TextAnchor)}
+ * measures the label twice and lays out its glyphs again on every frame. Tick labels rarely change between frames,
+ * so the {@link GlyphVector} and the anchor offsets are kept per label, font, render context, angle and anchors,
+ * and shared between axes.
+ */
+final class TickLabelLayoutCache {
+
+    private static final int MAX_CACHED_LAYOUTS = 4096;
+    private static final Map<Key, Layout> CACHE = new ConcurrentHashMap<>();
+
+    private TickLabelLayoutCache() {
+    }
+
+    /**
+     * Draws a string aligned by one anchor point and rotated about another, like
+     * {@link TextUtilities#drawRotatedString(String, Graphics2D, float, float, TextAnchor, double, TextAnchor)}.
+     * Unrotated text is drawn directly, since Java2D draws it quickly.
+     *
+     * @param text           the text.
+     * @param g2             the graphics device.
+     * @param x              the x-coordinate for positioning the text.
+     * @param y              the y-coordinate for positioning the text.
+     * @param textAnchor     the text anchor.
+     * @param angle          the rotation angle (in radians).
+     * @param rotationAnchor the rotation anchor.
+     */
+    static void drawRotatedString(final String text, final Graphics2D g2, final float x, final float y,
+                                  final TextAnchor textAnchor, final double angle, final TextAnchor rotationAnchor) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        if (angle == 0.0D) {
+            TextUtilities.drawAlignedString(text, g2, x, y, textAnchor);
+            return;
+        }
+
+        final Key key = new Key(text, g2.getFont(), g2.getFontRenderContext(), angle, textAnchor, rotationAnchor);
+        Layout layout = CACHE.get(key);
+        if (layout == null) {
+            if (CACHE.size() >= MAX_CACHED_LAYOUTS) {
+                CACHE.clear();
+            }
+            layout = new Layout(text, g2, textAnchor, rotationAnchor);
+            CACHE.put(key, layout);
+        }
+
+        final float textX = x + layout.textDx;
+        final float textY = y + layout.textDy;
+        final AffineTransform saved = g2.getTransform();
+        g2.transform(AffineTransform.getRotateInstance(angle, textX + layout.rotationDx, textY + layout.rotationDy));
+        g2.drawGlyphVector(layout.glyphs, textX, textY);
+        g2.setTransform(saved);
+    }
+
+    /**
+     * Laid out label, with the offsets from the anchor point to the text origin and from the text origin to the rotation point.
+     * The offsets are derived as in {@link TextUtilities}.
+     */
+    private static final class Layout {
+        private final GlyphVector glyphs;
+        private final float textDx;
+        private final float textDy;
+        private final float rotationDx;
+        private final float rotationDy;
+
+        private Layout(final String text, final Graphics2D g2, final TextAnchor textAnchor, final TextAnchor rotationAnchor) {
+            final Font font = g2.getFont();
+            final FontRenderContext frc = g2.getFontRenderContext();
+            this.glyphs = font.layoutGlyphVector(frc, text.toCharArray(), 0, text.length(), Font.LAYOUT_LEFT_TO_RIGHT);
+
+            final Rectangle2D bounds = TextUtilities.getTextBounds(text, g2, g2.getFontMetrics(font));
+            final LineMetrics metrics = font.getLineMetrics(text, frc);
+            final float width = (float) bounds.getWidth();
+            final float height = (float) bounds.getHeight();
+            final float descentAndLeading = metrics.getDescent() + metrics.getLeading();
+            final float halfAscent = metrics.getAscent() / 2.0f;
+
+            this.textDx = textAnchor.isHorizontalCenter() ? -width / 2.0f : textAnchor.isRight() ? -width : 0.0f;
+            if (textAnchor.isTop()) {
+                this.textDy = height - descentAndLeading;
+            } else if (textAnchor.isHalfAscent()) {
+                this.textDy = halfAscent;
+            } else if (textAnchor.isVerticalCenter()) {
+                this.textDy = height / 2.0f - descentAndLeading;
+            } else if (textAnchor.isBottom()) {
+                this.textDy = -descentAndLeading;
+            } else {
+                this.textDy = 0.0f;
+            }
+
+            this.rotationDx = rotationAnchor.isHorizontalCenter() ? width / 2.0f : rotationAnchor.isRight() ? width : 0.0f;
+            if (rotationAnchor.isTop()) {
+                this.rotationDy = descentAndLeading - height;
+            } else if (rotationAnchor.isVerticalCenter()) {
+                this.rotationDy = descentAndLeading - height / 2.0f;
+            } else if (rotationAnchor.isHalfAscent()) {
+                this.rotationDy = -halfAscent;
+            } else if (rotationAnchor.isBottom()) {
+                this.rotationDy = descentAndLeading;
+            } else {
+                this.rotationDy = 0.0f;
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String text;
+        private final Font font;
+        private final FontRenderContext fontRenderContext;
+        private final double angle;
+        private final TextAnchor textAnchor;
+        private final TextAnchor rotationAnchor;
+
+        private Key(final String text, final Font font, final FontRenderContext fontRenderContext, final double angle,
+                    final TextAnchor textAnchor, final TextAnchor rotationAnchor) {
+            this.text = text;
+            this.font = font;
+            this.fontRenderContext = fontRenderContext;
+            this.angle = angle;
+            this.textAnchor = textAnchor;
+            this.rotationAnchor = rotationAnchor;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key that = (Key) o;
+            return Double.compare(angle, that.angle) == 0
+                    && textAnchor == that.textAnchor
+                    && rotationAnchor == that.rotationAnchor
+                    && text.equals(that.text)
+                    && font.equals(that.font)
+                    && Objects.equals(fontRenderContext, that.fontRenderContext);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = text.hashCode();
+            result = 31 * result + font.hashCode();
+            result = 31 * result + Double.hashCode(angle);
+            result = 31 * result + Objects.hashCode(textAnchor);
+            return result;
+        }
+    }
+}
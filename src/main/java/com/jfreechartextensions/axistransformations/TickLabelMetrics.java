@@ -0,0 +1,125 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached text measurement for tick labels.
+ *
+ * Glyph advances for printable ASCII characters are measured once per font and render context,
+ * so estimating the size of a numeric label is a table lookup per character rather than a
+ * round trip through {@link FontMetrics}. Labels containing other characters are measured exactly.
+ */
+final class TickLabelMetrics {
+
+    private static final int MAX_CACHED_FONTS = 64;
+    private static final char FIRST_TABLE_CHAR = ' ';
+    private static final char LAST_TABLE_CHAR = '~';
+    private static final Map<Key, TickLabelMetrics> CACHE = new ConcurrentHashMap<>();
+
+    private final Font font;
+    private final FontRenderContext fontRenderContext;
+    private final double[] advances;
+    private final double height;
+
+    private TickLabelMetrics(final Font font, final FontRenderContext fontRenderContext) {
+        this.font = font;
+        this.fontRenderContext = fontRenderContext;
+        this.advances = new double[LAST_TABLE_CHAR - FIRST_TABLE_CHAR + 1];
+        for (char c = FIRST_TABLE_CHAR; c <= LAST_TABLE_CHAR; ++c) {
+            advances[c - FIRST_TABLE_CHAR] = font.getStringBounds(String.valueOf(c), fontRenderContext).getWidth();
+        }
+        this.height = font.getLineMetrics("123", fontRenderContext).getHeight();
+    }
+
+    /**
+     * Gets the metrics for a font.
+     *
+     * @param font              label font
+     * @param fontRenderContext render context the labels are drawn with
+     * @return metrics for {@code font}
+     */
+    static TickLabelMetrics getInstance(final Font font, final FontRenderContext fontRenderContext) {
+        final Key key = new Key(font, fontRenderContext);
+        TickLabelMetrics result = CACHE.get(key);
+        if (result == null) {
+            if (CACHE.size() >= MAX_CACHED_FONTS) {
+                CACHE.clear();
+            }
+            result = new TickLabelMetrics(font, fontRenderContext);
+            CACHE.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return height of a line of text
+     */
+    double getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the width of a single line label.
+     *
+     * @param label label
+     * @return width of {@code label}
+     */
+    double getWidth(final String label) {
+        double result = 0.0D;
+        for (int i = 0; i < label.length(); ++i) {
+            final char c = label.charAt(i);
+            if (c < FIRST_TABLE_CHAR || c > LAST_TABLE_CHAR) {
+                return font.getStringBounds(label, fontRenderContext).getWidth();
+            }
+            result += advances[c - FIRST_TABLE_CHAR];
+        }
+        return result;
+    }
+
+    /**
+     * Gets the extent of a label rotated by {@code angle} along the horizontal or vertical direction.
+     *
+     * @param width      width of the unrotated label
+     * @param height     height of the unrotated label
+     * @param angle      rotation angle in radians
+     * @param horizontal whether to get the horizontal extent, rather than the vertical one
+     * @return the extent of the bounding box of the rotated label
+     */
+    static double getRotatedExtent(final double width, final double height, final double angle, final boolean horizontal) {
+        final double cos = Math.abs(Math.cos(angle));
+        final double sin = Math.abs(Math.sin(angle));
+        return horizontal ? width * cos + height * sin : width * sin + height * cos;
+    }
+
+    private static final class Key {
+        private final Font font;
+        private final FontRenderContext fontRenderContext;
+
+        private Key(final Font font, final FontRenderContext fontRenderContext) {
+            this.font = font;
+            this.fontRenderContext = fontRenderContext;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key that = (Key) o;
+            return font.equals(that.font) && Objects.equals(fontRenderContext, that.fontRenderContext);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * font.hashCode() + Objects.hashCode(fontRenderContext);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.chart.axis.NumberTickUnit;
+import org.jfree.chart.axis.TickUnitSource;
+import org.jfree.ui.RectangleEdge;
+import org.jfree.ui.RectangleInsets;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.text.NumberFormat;
+import java.util.Objects;
+
+/**
+ * Everything the tick list of an {@link ExtendedNumberAxis} depends on.
+ *
+ * Two refreshes with equal keys produce the same ticks, so the axis can reuse the
+ * previous list instead of re-running tick unit selection and label formatting.
+ * Keys for tick unit selection alone leave out the custom ticks and minor tick count.
+ * Reference-typed settings which are replaced rather than mutated (transform,
+ * custom major ticks, number format, tick unit source) are compared by identity.
+ */
+final class TickLayoutKey {
+
+    private final double lowerBound;
+    private final double upperBound;
+    private final double areaWidth;
+    private final double areaHeight;
+    private final RectangleEdge edge;
+    private final NumberTickUnit tickUnit;
+    private final TickUnitSource standardTickUnits;
+    private final Font font;
+    private final FontRenderContext fontRenderContext;
+    private final RectangleInsets tickLabelInsets;
+    private final boolean tickLabelsVisible;
+    private final boolean verticalTickLabels;
+    private final double tickAngle;
+    private final int minorTickCount;
+    private final BasicAxisTransform transform;
+    private final double[] majorTicks;
+    private final NumberFormat numberFormatOverride;
+
+    /**
+     * @param lowerBound           lower bound of the effective axis range
+     * @param upperBound           upper bound of the effective axis range
+     * @param areaWidth            width of the data area
+     * @param areaHeight           height of the data area
+     * @param edge                 the axis location
+     * @param tickUnit             the fixed tick unit, or null when the tick unit is selected automatically
+     * @param standardTickUnits    source of automatically selected tick units
+     * @param font                 tick label font
+     * @param fontRenderContext    font render context the labels are measured with
+     * @param tickLabelInsets      tick label insets
+     * @param tickLabelsVisible    whether tick labels are drawn, which decides how densely ticks can be placed
+     * @param verticalTickLabels   whether tick labels are drawn vertically
+     * @param tickAngle            tick label angle in radians, or NaN
+     * @param minorTickCount       minor tick count set on the axis
+     * @param transform            the axis transform
+     * @param majorTicks           custom major tick locations, or null
+     * @param numberFormatOverride tick label format override, or null
+     */
+    TickLayoutKey(final double lowerBound, final double upperBound, final double areaWidth, final double areaHeight,
+                  final RectangleEdge edge, final NumberTickUnit tickUnit, final TickUnitSource standardTickUnits,
+                  final Font font, final FontRenderContext fontRenderContext, final RectangleInsets tickLabelInsets,
+                  final boolean tickLabelsVisible, final boolean verticalTickLabels, final double tickAngle, final int minorTickCount,
+                  final BasicAxisTransform transform, final double[] majorTicks, final NumberFormat numberFormatOverride) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.areaWidth = areaWidth;
+        this.areaHeight = areaHeight;
+        this.edge = edge;
+        this.tickUnit = tickUnit;
+        this.standardTickUnits = standardTickUnits;
+        this.font = font;
+        this.fontRenderContext = fontRenderContext;
+        this.tickLabelInsets = tickLabelInsets;
+        this.tickLabelsVisible = tickLabelsVisible;
+        this.verticalTickLabels = verticalTickLabels;
+        this.tickAngle = tickAngle;
+        this.minorTickCount = minorTickCount;
+        this.transform = transform;
+        this.majorTicks = majorTicks;
+        this.numberFormatOverride = numberFormatOverride;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TickLayoutKey)) {
+            return false;
+        }
+
+        final TickLayoutKey that = (TickLayoutKey) o;
+        return Double.compare(lowerBound, that.lowerBound) == 0
+                && Double.compare(upperBound, that.upperBound) == 0
+                && Double.compare(areaWidth, that.areaWidth) == 0
+                && Double.compare(areaHeight, that.areaHeight) == 0
+                && Double.compare(tickAngle, that.tickAngle) == 0
+                && minorTickCount == that.minorTickCount
+                && tickLabelsVisible == that.tickLabelsVisible
+                && verticalTickLabels == that.verticalTickLabels
+                && edge == that.edge
+                && transform == that.transform
+                && majorTicks == that.majorTicks
+                && numberFormatOverride == that.numberFormatOverride
+                && standardTickUnits == that.standardTickUnits
+                && Objects.equals(tickUnit, that.tickUnit)
+                && Objects.equals(font, that.font)
+                && Objects.equals(fontRenderContext, that.fontRenderContext)
+                && Objects.equals(tickLabelInsets, that.tickLabelInsets);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(lowerBound);
+        result = 31 * result + Double.hashCode(upperBound);
+        result = 31 * result + Double.hashCode(areaWidth);
+        result = 31 * result + Double.hashCode(areaHeight);
+        result = 31 * result + Objects.hashCode(edge);
+        result = 31 * result + Objects.hashCode(tickUnit);
+        result = 31 * result + Objects.hashCode(font);
+        result = 31 * result + Boolean.hashCode(tickLabelsVisible);
+        return result;
+    }
+}
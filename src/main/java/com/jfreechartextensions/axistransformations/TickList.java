@@ -0,0 +1,46 @@
+package com.jfreechartextensions.axistransformations;
+
+import org.jfree.chart.axis.NumberTick;
+import org.jfree.chart.axis.NumberTickUnit;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Immutable tick list, together with the tick unit it was generated with.
+ *
+ * An axis laid out for several areas at once can select a different unit for each of them, so the unit travels with
+ * the ticks instead of being set on the axis while it is drawn.
+ */
+final class TickList extends AbstractList<NumberTick> implements RandomAccess {
+
+    private final NumberTick[] ticks;
+    private final NumberTickUnit unit;
+
+    /**
+     * @param ticks the ticks; copied
+     * @param unit  the tick unit they were generated with, or null if they were not generated from a tick unit
+     */
+    TickList(final Collection<NumberTick> ticks, final NumberTickUnit unit) {
+        this.ticks = ticks.toArray(new NumberTick[0]);
+        this.unit = unit;
+    }
+
+    /**
+     * @return the tick unit the ticks were generated with, or null if they were not generated from a tick unit
+     */
+    NumberTickUnit getUnit() {
+        return unit;
+    }
+
+    @Override
+    public NumberTick get(final int index) {
+        return ticks[index];
+    }
+
+    @Override
+    public int size() {
+        return ticks.length;
+    }
+}
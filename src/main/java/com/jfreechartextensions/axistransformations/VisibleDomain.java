@@ -0,0 +1,88 @@
+package com.jfreechartextensions.axistransformations;
+
+import java.io.Serializable;
+
+/**
+ * An interval of dataset values, each end open or closed; NaN is never included.
+ */
+final class VisibleDomain implements Serializable {
+
+    private static final long serialVersionUID = -2619412418829712402L;
+
+    static final VisibleDomain ALL = new VisibleDomain(Double.NEGATIVE_INFINITY, true, Double.POSITIVE_INFINITY, true);
+    static final VisibleDomain POSITIVE = new VisibleDomain(0.0D, false, Double.POSITIVE_INFINITY, true);
+    static final VisibleDomain NON_NEGATIVE = new VisibleDomain(0.0D, true, Double.POSITIVE_INFINITY, true);
+
+    private final double lower;
+    private final boolean lowerInclusive;
+    private final double upper;
+    private final boolean upperInclusive;
+
+    VisibleDomain(final double lower, final boolean lowerInclusive, final double upper, final boolean upperInclusive) {
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+
+    /**
+     * Gets the visible domain of a transform, when it is a single interval known without evaluating the transform.
+     *
+     * @param transform transform
+     * @return the values {@code transform} shows, or null if they are unknown or not an interval
+     */
+    static VisibleDomain of(final BasicAxisTransform transform) {
+        if (transform instanceof Log10AxisTransform || transform instanceof LogAxisTransform || transform instanceof ReciprocalAxisTransform) {
+            return POSITIVE;
+        }
+        if (transform instanceof PowerAxisTransform) {
+            return NON_NEGATIVE;
+        }
+        if (transform instanceof AffineAxisTransform || transform instanceof SymmetricLogAxisTransform) {
+            return ALL;
+        }
+        if (transform instanceof CompositeAxisTransform) {
+            return ((CompositeAxisTransform) transform).getExactDomain();
+        }
+        if (transform instanceof SampledAxisTransform) {
+            return of(((SampledAxisTransform) transform).getDelegate());
+        }
+        return null;
+    }
+
+    boolean contains(final double value) {
+        return (lowerInclusive ? value >= lower : value > lower) && (upperInclusive ? value <= upper : value < upper);
+    }
+
+    /**
+     * @return {@code {lower, upper}}, in the form of {@link BasicAxisTransform#getVisibleIntervals()}
+     */
+    double[] toIntervals() {
+        return new double[]{lower, upper};
+    }
+
+    VisibleDomain intersect(final VisibleDomain other) {
+        final boolean takeLower = other.lower > lower || (other.lower == lower && !other.lowerInclusive);
+        final boolean takeUpper = other.upper < upper || (other.upper == upper && !other.upperInclusive);
+        if (!takeLower && !takeUpper) {
+            return this;
+        }
+        return new VisibleDomain(takeLower ? other.lower : lower, takeLower ? other.lowerInclusive : lowerInclusive,
+                takeUpper ? other.upper : upper, takeUpper ? other.upperInclusive : upperInclusive);
+    }
+
+    /**
+     * Maps this domain, given in the output space of a monotonic transform, back to the transform's input space.
+     *
+     * @param transform monotonic transform
+     * @return the preimage of this domain, or null if the inverse is not defined at its ends
+     */
+    VisibleDomain pullBack(final BasicAxisTransform transform) {
+        final double a = transform.inverseTransform(lower);
+        final double b = transform.inverseTransform(upper);
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            return null;
+        }
+        return a <= b ? new VisibleDomain(a, lowerInclusive, b, upperInclusive) : new VisibleDomain(b, upperInclusive, a, lowerInclusive);
+    }
+}
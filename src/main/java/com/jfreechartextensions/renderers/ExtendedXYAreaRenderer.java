@@ -24,6 +24,11 @@ public abstract class ExtendedXYAreaRenderer extends XYAreaRenderer {
      */
     private int[] lastVisibleIndex;
 
+    /**
+     * Items of the dataset being rendered whose x-values can be visible
+     */
+    private VisibleItemRanges visibleItems;
+
     @Override
     public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea, XYPlot plot, XYDataset data, PlotRenderingInfo info) {
         XYAreaRendererState state = new XYAreaRendererState(info);
@@ -36,11 +41,17 @@ public abstract class ExtendedXYAreaRenderer extends XYAreaRenderer {
         for (int i = 0; i < seriesCount; i++) {
             lastVisibleIndex[i] = -1;
         }
+        visibleItems = new VisibleItemRanges(data);
         return state;
     }
 
     @Override
     public void drawItem(Graphics2D g2, XYItemRendererState state, Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset, int series, int item, CrosshairState crosshairState, int pass) {
+        //the first and last items start and fill the area even when they're not visible, others can be skipped if their x-value is outside the visible intervals of the domain axis
+        if (item > 0 && item < dataset.getItemCount(series) - 1 && visibleItems.isHidden(domainAxis, series, item)) {
+            return;
+        }
+
         if (this.getItemVisible(series, item)) {
 
             //XYAreaRenderer.XYAreaRendererState areaState = (XYAreaRenderer.XYAreaRendererState)state;
@@ -1,5 +1,6 @@
 package com.jfreechartextensions.renderers;
 
+import com.jfreechartextensions.axistransformations.ExtendedNumberAxis;
 import org.jfree.chart.axis.ValueAxis;
 import org.jfree.chart.entity.EntityCollection;
 import org.jfree.chart.labels.XYItemLabelGenerator;
@@ -19,9 +20,21 @@ import java.awt.geom.Rectangle2D;
 
 public abstract class ExtendedXYBarRenderer extends XYBarRenderer {
 
+    /**
+     * Items of the dataset being rendered whose x-values can be visible
+     */
+    private VisibleItemRanges visibleItems;
+
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea, XYPlot plot, XYDataset dataset, PlotRenderingInfo info) {
+        final XYItemRendererState state = super.initialise(g2, dataArea, plot, dataset, info);
+        visibleItems = new VisibleItemRanges(dataset);
+        return state;
+    }
+
     @Override
     public void drawItem(Graphics2D g2, XYItemRendererState state, Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot, ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset, int series, int item, CrosshairState crosshairState, int pass) {
-        if (this.getItemVisible(series, item)) {
+        if (this.getItemVisible(series, item) && !visibleItems.isHidden(domainAxis, series, item)) {
             IntervalXYDataset intervalDataset = (IntervalXYDataset) dataset;
             double value0;
             double value1;
@@ -45,7 +58,11 @@ public abstract class ExtendedXYBarRenderer extends XYBarRenderer {
                 double translatedValue0 = rangeAxis.valueToJava2D(value0, dataArea, plot.getRangeAxisEdge());
                 if (!Double.isFinite(translatedValue0)) {
                     //If value0 is not visible then it's either this.base (by default 0) as many transformations are not defined at 0, or it is genuinely not visible.
-                    //According to the above assumption, we're checking if data's/axis range's lowerbound is visible, then it will be new base
+                    //The bar then starts from the nearest visible part of the axis range, if the axis transform publishes its visible intervals
+                    translatedValue0 = rangeAxis.valueToJava2D(nearestVisibleValue(rangeAxis, value0), dataArea, plot.getRangeAxisEdge());
+                }
+                if (!Double.isFinite(translatedValue0)) {
+                    //Otherwise we're checking if data's/axis range's lowerbound is visible, then it will be new base
                     translatedValue0 = rangeAxis.valueToJava2D(rangeAxis.getLowerBound() - rangeAxis.getLowerBound() * rangeAxis.getLowerMargin(), dataArea, plot.getRangeAxisEdge());
                 }
                 double translatedValue1 = rangeAxis.valueToJava2D(value1, dataArea, plot.getRangeAxisEdge());
@@ -165,4 +182,31 @@ public abstract class ExtendedXYBarRenderer extends XYBarRenderer {
 
     protected abstract XYBarPainter getBarPainter(final int index);
 
+    /**
+     * Clamps a value to the nearest visible interval within the axis range. The result can still be invisible
+     * when it is an open end of an interval, so callers have to check it.
+     *
+     * @return the clamped value, or NaN if the axis doesn't publish its visible intervals or none is in range
+     */
+    private static double nearestVisibleValue(final ValueAxis axis, final double value) {
+        if (!(axis instanceof ExtendedNumberAxis)) {
+            return Double.NaN;
+        }
+        final double[] intervals = ((ExtendedNumberAxis) axis).getVisibleIntervals();
+        if (intervals == null) {
+            return Double.NaN;
+        }
+
+        double result = Double.NaN;
+        double distance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < intervals.length; i += 2) {
+            final double clamped = Math.max(intervals[i], Math.min(value, intervals[i + 1]));
+            if (Math.abs(clamped - value) < distance) {
+                distance = Math.abs(clamped - value);
+                result = clamped;
+            }
+        }
+        return result;
+    }
+
 }
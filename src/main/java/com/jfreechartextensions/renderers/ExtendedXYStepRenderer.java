@@ -25,6 +25,11 @@ public class ExtendedXYStepRenderer extends XYStepRenderer {
      */
     private int[] lastVisibles;
 
+    /**
+     * Items of the dataset being rendered whose x-values can be visible
+     */
+    private VisibleItemRanges visibleItems;
+
     @Override
     public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea, XYPlot plot, XYDataset data, PlotRenderingInfo info) {
         final XYItemRendererState state = super.initialise(g2, dataArea, plot, data, info);
@@ -32,6 +37,7 @@ public class ExtendedXYStepRenderer extends XYStepRenderer {
         for (int i = 0; i < data.getSeriesCount(); i++) {
             lastVisibles[i] = -1;
         }
+        visibleItems = new VisibleItemRanges(data);
         return state;
     }
 
@@ -46,6 +52,11 @@ public class ExtendedXYStepRenderer extends XYStepRenderer {
             return;
         }
 
+        // do nothing if x-value is outside the visible intervals of the domain axis
+        if (visibleItems.isHidden(domainAxis, series, item)) {
+            return;
+        }
+
         PlotOrientation orientation = plot.getOrientation();
 
         Paint seriesPaint = getItemPaint(series, item);
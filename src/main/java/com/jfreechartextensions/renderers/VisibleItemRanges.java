@@ -0,0 +1,118 @@
+package com.jfreechartextensions.renderers;
+
+import com.jfreechartextensions.axistransformations.BasicAxisTransform;
+import com.jfreechartextensions.axistransformations.ExtendedNumberAxis;
+import org.jfree.chart.axis.ValueAxis;
+import org.jfree.data.DomainOrder;
+import org.jfree.data.xy.XYDataset;
+
+/**
+ * Finds the items of a dataset whose x-values can be visible on the domain axis, so that renderers can skip
+ * the others without converting them to Java2D space.
+ *
+ * This only works for datasets sorted by ascending x-value and domain axes whose transform publishes its
+ * {@link BasicAxisTransform#getVisibleIntervals() visible intervals}. The intervals are clipped to the axis range
+ * once per rendering, and each is turned into a range of item indexes with two binary searches, once per series.
+ * The item on either side of each range is kept too, so that lines, steps and areas crossing the edge of the range
+ * are still drawn. Items inside those ranges still have to be checked one by one.
+ */
+final class VisibleItemRanges {
+
+    private static final int[] UNKNOWN = new int[0];
+
+    private final XYDataset dataset;
+    private final boolean ascending;
+    /**
+     * Per series: {from0, to0, from1, to1, ...}, each an inclusive-exclusive range of item indexes, or {@link #UNKNOWN}.
+     */
+    private final int[][] ranges;
+    /**
+     * Visible intervals of the domain axis clipped to its range, or null until they are first needed.
+     */
+    private double[] intervals;
+
+    /**
+     * @param dataset dataset about to be rendered
+     */
+    VisibleItemRanges(final XYDataset dataset) {
+        this.dataset = dataset;
+        this.ascending = dataset.getDomainOrder() == DomainOrder.ASCENDING;
+        this.ranges = new int[dataset.getSeriesCount()][];
+    }
+
+    /**
+     * Gets whether an item can be skipped because its x-value is outside every visible interval of the domain axis.
+     *
+     * @param domainAxis domain axis the dataset is rendered against
+     * @param series     series index
+     * @param item       item index
+     * @return true if the item is certainly not visible, false if it may be
+     */
+    boolean isHidden(final ValueAxis domainAxis, final int series, final int item) {
+        if (!ascending || series >= ranges.length) {
+            return false;
+        }
+
+        int[] seriesRanges = ranges[series];
+        if (seriesRanges == null) {
+            seriesRanges = findRanges(domainAxis, series);
+            ranges[series] = seriesRanges;
+        }
+        if (seriesRanges == UNKNOWN) {
+            return false;
+        }
+
+        //index of the last range starting at or before the item
+        int low = 0;
+        int high = seriesRanges.length / 2 - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (seriesRanges[2 * mid] <= item) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high < 0 || item >= seriesRanges[2 * high + 1];
+    }
+
+    private int[] findRanges(final ValueAxis domainAxis, final int series) {
+        if (!(domainAxis instanceof ExtendedNumberAxis)) {
+            return UNKNOWN;
+        }
+        if (intervals == null) {
+            intervals = ((ExtendedNumberAxis) domainAxis).getVisibleIntervals();
+            if (intervals == null) {
+                return UNKNOWN;
+            }
+        }
+
+        //ranges may overlap once widened, but their starts and ends stay ascending, which is all isHidden relies on
+        final int itemCount = dataset.getItemCount(series);
+        final int[] result = new int[intervals.length];
+        for (int i = 0; i < intervals.length; i += 2) {
+            result[i] = Math.max(0, firstItemAtLeast(series, itemCount, intervals[i], false) - 1);
+            result[i + 1] = Math.min(itemCount, firstItemAtLeast(series, itemCount, intervals[i + 1], true) + 1);
+        }
+        return result;
+    }
+
+    /**
+     * @param strictly whether to look for the first x-value above {@code value} rather than at or above it
+     * @return index of the first item with such an x-value, or {@code itemCount} if there is none
+     */
+    private int firstItemAtLeast(final int series, final int itemCount, final double value, final boolean strictly) {
+        int low = 0;
+        int high = itemCount;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final double x = dataset.getXValue(series, mid);
+            if (strictly ? x <= value : x < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,221 @@
+package com.jfreechartextensions.axistransformations;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Array loops shared by the bulk transform methods and the axis projection.
+ *
+ * This is the Java 17 version of the class, loaded from {@code META-INF/versions/17} of the multi-release jar.
+ * When {@code jdk.incubator.vector} is resolved, for example with {@code --add-modules jdk.incubator.vector},
+ * the loops run on the widest vectors the CPU supports; otherwise they are the scalar loops of the Java 8 version.
+ * Vectorized logarithms, exponentials and powers may differ from {@link Math} in the last bit.
+ */
+final class BulkKernels {
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private BulkKernels() {
+    }
+
+    /**
+     * @return whether the loops are vectorized
+     */
+    static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * dst = src * a + b
+     */
+    static void multiplyAdd(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double a, final double b) {
+        final int done = VECTORIZED ? Vectorized.multiplyAdd(src, srcPos, dst, dstPos, length, a, b) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = src[srcPos + i] * a + b;
+        }
+    }
+
+    /**
+     * dst = (src - c) / d
+     */
+    static void subtractDivide(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double c, final double d) {
+        final int done = VECTORIZED ? Vectorized.subtractDivide(src, srcPos, dst, dstPos, length, c, d) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = (src[srcPos + i] - c) / d;
+        }
+    }
+
+    /**
+     * dst = log10(src)
+     */
+    static void log10(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final int done = VECTORIZED ? Vectorized.unary(VectorOperators.LOG10, src, srcPos, dst, dstPos, length) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = Math.log10(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = ln(src)
+     */
+    static void log(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final int done = VECTORIZED ? Vectorized.unary(VectorOperators.LOG, src, srcPos, dst, dstPos, length) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = Math.log(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = e^src
+     */
+    static void exp(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+        final int done = VECTORIZED ? Vectorized.unary(VectorOperators.EXP, src, srcPos, dst, dstPos, length) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = Math.exp(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = base^src
+     */
+    static void powBase(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double base) {
+        final int done = VECTORIZED ? Vectorized.powBase(src, srcPos, dst, dstPos, length, base) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = Math.pow(base, src[srcPos + i]);
+        }
+    }
+
+    /**
+     * dst = src^exponent for non-negative src, NaN for negative src
+     */
+    static void powNonNegative(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double exponent) {
+        final int done = VECTORIZED ? Vectorized.powNonNegative(src, srcPos, dst, dstPos, length, exponent) : 0;
+        for (int i = done; i < length; ++i) {
+            dst[dstPos + i] = powNonNegative(src[srcPos + i], exponent);
+        }
+    }
+
+    /**
+     * Raises a value to a power, using the cheaper exact operations for squares and square roots.
+     *
+     * @return {@code value^exponent}, or NaN if {@code value} is negative
+     */
+    static double powNonNegative(final double value, final double exponent) {
+        if (value < 0) {
+            return Double.NaN;
+        }
+        if (exponent == 0.5D) {
+            return Math.sqrt(value);
+        }
+        if (exponent == 2.0D) {
+            return value * value;
+        }
+        if (exponent == 1.0D) {
+            return value;
+        }
+        return Math.pow(value, exponent);
+    }
+
+    /**
+     * dst = whether src lies between lower and upper; the upper end is included, the lower end only if {@code lowerClosed}.
+     * NaN lies in no interval. Transforms whose visible domain is an interval check visibility with this.
+     *
+     * @return number of values in the interval
+     */
+    static int inInterval(final double[] src, final int srcPos, final boolean[] dst, final int dstPos, final int length,
+                          final double lower, final boolean lowerClosed, final double upper) {
+        int count = 0;
+        for (int i = 0; i < length; ++i) {
+            final double value = src[srcPos + i];
+            final boolean inside = (lowerClosed ? value >= lower : value > lower) && value <= upper;
+            dst[dstPos + i] = inside;
+            count += inside ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Projects values in Axis space to Java2D space in place, as {@link AxisProjection#toJava2D(double)} does:
+     * values = origin + (values - transformedMin) * scale, or NaN where the value is not visible.
+     */
+    static void project(final double[] values, final int pos, final int length, final boolean[] visible, final int visiblePos,
+                        final double transformedMin, final double scale, final double origin) {
+        final int done = VECTORIZED ? Vectorized.project(values, pos, length, visible, visiblePos, transformedMin, scale, origin) : 0;
+        for (int i = done; i < length; ++i) {
+            values[pos + i] = visible[visiblePos + i] ? origin + (values[pos + i] - transformedMin) * scale : Double.NaN;
+        }
+    }
+
+    /**
+     * Vector API loops. Each processes whole vectors and returns how many elements it did; the caller finishes the tail.
+     * Only loaded when the incubator module is resolved.
+     */
+    private static final class Vectorized {
+        private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+        private static int multiplyAdd(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double a, final double b) {
+            final int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, src, srcPos + i).mul(a).add(b).intoArray(dst, dstPos + i);
+            }
+            return bound;
+        }
+
+        private static int subtractDivide(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double c, final double d) {
+            final int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, src, srcPos + i).sub(c).div(d).intoArray(dst, dstPos + i);
+            }
+            return bound;
+        }
+
+        private static int unary(final VectorOperators.Unary op, final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length) {
+            final int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, src, srcPos + i).lanewise(op).intoArray(dst, dstPos + i);
+            }
+            return bound;
+        }
+
+        private static int powBase(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double base) {
+            final DoubleVector bases = DoubleVector.broadcast(SPECIES, base);
+            final int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                bases.pow(DoubleVector.fromArray(SPECIES, src, srcPos + i)).intoArray(dst, dstPos + i);
+            }
+            return bound;
+        }
+
+        private static int powNonNegative(final double[] src, final int srcPos, final double[] dst, final int dstPos, final int length, final double exponent) {
+            final int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                final DoubleVector v = DoubleVector.fromArray(SPECIES, src, srcPos + i);
+                final DoubleVector result;
+                if (exponent == 0.5D) {
+                    result = v.sqrt();
+                } else if (exponent == 2.0D) {
+                    result = v.mul(v);
+                } else if (exponent == 1.0D) {
+                    result = v;
+                } else {
+                    result = v.pow(exponent);
+                }
+                result.blend(Double.NaN, v.compare(VectorOperators.LT, 0.0D)).intoArray(dst, dstPos + i);
+            }
+            return bound;
+        }
+
+        private static int project(final double[] values, final int pos, final int length, final boolean[] visible, final int visiblePos,
+                                   final double transformedMin, final double scale, final double origin) {
+            final int bound = SPECIES.loopBound(length);
+            for (int i = 0; i < bound; i += SPECIES.length()) {
+                final VectorMask<Double> mask = VectorMask.fromArray(SPECIES, visible, visiblePos + i);
+                DoubleVector.fromArray(SPECIES, values, pos + i).sub(transformedMin).mul(scale).add(origin)
+                        .blend(Double.NaN, mask.not()).intoArray(values, pos + i);
+            }
+            return bound;
+        }
+    }
+}